@@ -0,0 +1,9 @@
+-- Runs once, when the db-replica volume is created (docker-compose.replica.yml):
+-- follow the primary from its first transaction (GTID auto-positioning), schema included
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'db',
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'rootpassword',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
@@ -0,0 +1,68 @@
+// k6 load test: API read latency during a login storm.
+// "reads" runs at a constant rate the whole time; "logins" starts a burst of logins (wrong passwords, many emails)
+// after 30s. With the BCrypt bulkhead the reads p95 stays flat and the storm gets 401/429, compare
+// "http_req_duration{scenario:reads}" before and during the storm.
+//
+// The storm comes from a single IP: lift the per-IP limit for the run, or it is all 429 and never reaches BCrypt
+//   APPLICATION_SECURITY_RATE_LIMIT_PER_IP_CAPACITY=1000000 docker compose up -d
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api loadtest/login-storm.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const READ_RATE = parseInt(__ENV.READ_RATE || '200');
+const LOGIN_VUS = parseInt(__ENV.LOGIN_VUS || '300');
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-arrival-rate',
+            rate: READ_RATE,
+            timeUnit: '1s',
+            duration: '2m30s',
+            preAllocatedVUs: 100,
+            maxVUs: 500,
+            exec: 'reads',
+        },
+        logins: {
+            executor: 'constant-vus',
+            vus: LOGIN_VUS,
+            startTime: '30s',
+            duration: '1m30s',
+            exec: 'logins',
+        },
+    },
+    thresholds: {
+        // the point of the bulkhead: reads stay fast while the logins are shed
+        'http_req_duration{scenario:reads}': ['p(95)<300'],
+        'checks{scenario:reads}': ['rate>0.99'],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const email = `storm-${Date.now()}@hahn.com`;
+    const headers = { 'Content-Type': 'application/json' };
+    const auth = http.post(`${BASE_URL}/auth/register`,
+        JSON.stringify({ email, password: 'password123', username: 'storm' }), { headers });
+    const token = auth.json('token');
+
+    const project = http.post(`${BASE_URL}/projects`, JSON.stringify({ title: 'Login storm', description: 'k6' }),
+        { headers: { ...headers, Authorization: `Bearer ${token}` } }).json();
+    return { token, projectId: project.id };
+}
+
+export function reads(data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+    const res = http.get(`${BASE_URL}/projects/${data.projectId}/tasks?page=0&size=20`, params);
+    check(res, { 'read 200': (r) => r.status === 200 });
+}
+
+// Credential stuffing: a new email each time, so the per-email limit does not stop it before BCrypt
+export function logins() {
+    const email = `victim-${__VU}-${__ITER}@hahn.com`;
+    const res = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ email, password: 'wrong' }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { name: 'login' } });
+    check(res, { 'login shed or refused': (r) => r.status === 401 || r.status === 429 });
+}
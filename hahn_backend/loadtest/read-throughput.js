@@ -0,0 +1,58 @@
+// k6 load test: read throughput under high concurrency.
+// Run it once against each mode and compare "http_reqs" (req/s) and "http_req_duration" (p95):
+//
+//   platform threads (default): docker compose up -d
+//   virtual threads:            SPRING_PROFILES_ACTIVE=virtual-threads docker compose up -d
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api -e VUS=2000 loadtest/read-throughput.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const VUS = parseInt(__ENV.VUS || '2000');
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS }, // ramp up to the spike
+                { duration: '2m', target: VUS },  // hold it
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// One user + one project with some tasks, shared by all virtual users
+export function setup() {
+    const email = `loadtest-${Date.now()}@hahn.com`;
+    const headers = { 'Content-Type': 'application/json' };
+    const auth = http.post(`${BASE_URL}/auth/register`,
+        JSON.stringify({ email, password: 'password123', username: 'loadtest' }), { headers });
+    const token = auth.json('token');
+
+    const authHeaders = { headers: { ...headers, Authorization: `Bearer ${token}` } };
+    const project = http.post(`${BASE_URL}/projects`,
+        JSON.stringify({ title: 'Load test', description: 'k6' }), authHeaders).json();
+
+    const tasks = [];
+    for (let i = 0; i < 200; i++) {
+        tasks.push({ title: `Task ${i}`, description: 'load test task', dueDate: '2030-01-01' });
+    }
+    http.post(`${BASE_URL}/projects/${project.id}/tasks:batch`, JSON.stringify(tasks), authHeaders);
+
+    return { token, projectId: project.id };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` } };
+
+    const list = http.get(`${BASE_URL}/projects`, params);
+    check(list, { 'projects 200': (r) => r.status === 200 });
+
+    const page = http.get(`${BASE_URL}/projects/${data.projectId}/tasks?page=0&size=20`, params);
+    check(page, { 'tasks 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,112 @@
+package com.hahn.backend.benchmarks;
+
+import com.hahn.backend.config.UserPrincipalCache;
+import com.hahn.backend.dto.projection.RevokedToken;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.entities.Project;
+import com.hahn.backend.entities.Task;
+import com.hahn.backend.entities.TaskStatus;
+import com.hahn.backend.repositories.TokenRevocationRepository;
+import com.hahn.backend.services.JwtService;
+import com.hahn.backend.services.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Same objects the app builds at startup, wired by hand (no Spring context, no DB)
+final class BenchmarkFixtures {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    static final String EMAIL = "bench@hahn.com";
+    static final UserDetails USER = User.builder()
+            .username(EMAIL)
+            .password("$2a$10$abcdefghijklmnopqrstuu")
+            .roles("USER")
+            .build();
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long verifiedCacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", verifiedCacheSize);
+        init(service);
+        return service;
+    }
+
+    static UserPrincipalCache principalCache() {
+        UserPrincipalCache cache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        init(cache);
+        return cache;
+    }
+
+    // token_revocations holds `active` (a mock: the check itself never goes to the table for a Bloom filter miss)
+    static TokenRevocationService tokenRevocations(List<RevokedToken> active) {
+        TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+        when(repository.findActive(any())).thenReturn(active);
+        Set<String> ids = active.stream().map(RevokedToken::getJti).collect(Collectors.toSet());
+        when(repository.existsByJti(any())).thenAnswer(call -> ids.contains(call.<String>getArgument(0)));
+        TokenRevocationService service = new TokenRevocationService(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "expectedRevocations", 100_000L);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        init(service);
+        return service;
+    }
+
+    static Project project(int taskCount) {
+        Project project = Project.builder()
+                .id(1L)
+                .title("Benchmark project")
+                .description("A project with " + taskCount + " tasks")
+                .tasks(new ArrayList<>(taskCount))
+                .build();
+        for (int i = 0; i < taskCount; i++) {
+            project.getTasks().add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description of task " + i)
+                    .dueDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .project(project)
+                    .build());
+        }
+        return project;
+    }
+
+    static List<TaskDto> taskDtos(int count) {
+        List<TaskDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(new TaskDto((long) i, "Task " + i, "Description of task " + i,
+                    LocalDate.of(2025, 1, 1).plusDays(i % 365), TaskStatus.PENDING, 1L, 0L));
+        }
+        return dtos;
+    }
+
+    // @PostConstruct methods are package-private, call them like Spring would
+    private static void init(Object bean) {
+        try {
+            Method init = bean.getClass().getDeclaredMethod("init");
+            init.setAccessible(true);
+            init.invoke(bean);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
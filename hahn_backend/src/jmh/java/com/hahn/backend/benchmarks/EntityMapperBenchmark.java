@@ -0,0 +1,34 @@
+package com.hahn.backend.benchmarks;
+
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.entities.Project;
+import com.hahn.backend.util.EntityMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// EntityMapper.toProjectDto on projects with many tasks (entities already in memory, no DB)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class EntityMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int taskCount;
+
+    private final EntityMapper mapper = new EntityMapper();
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        project = BenchmarkFixtures.project(taskCount);
+    }
+
+    @Benchmark
+    public ProjectDto toProjectDto() {
+        return mapper.toProjectDto(project);
+    }
+}
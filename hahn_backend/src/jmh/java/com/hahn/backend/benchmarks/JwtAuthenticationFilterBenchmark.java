@@ -0,0 +1,58 @@
+package com.hahn.backend.benchmarks;
+
+import com.hahn.backend.config.JwtAuthenticationFilter;
+import com.hahn.backend.entities.User;
+import com.hahn.backend.repositories.UserRepository;
+import com.hahn.backend.services.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Whole filter for an authenticated GET: token verification + revocation check + principal lookup + SecurityContext
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(10_000);
+        // stands in for the users table: the principal cache keeps it off the hot path anyway
+        UserRepository users = mock(UserRepository.class);
+        when(users.findByEmail(BenchmarkFixtures.EMAIL))
+                .thenReturn(Optional.of(User.builder().id(1L).email(BenchmarkFixtures.EMAIL).build()));
+        filter = new JwtAuthenticationFilter(jwtService, users,
+                BenchmarkFixtures.principalCache(), BenchmarkFixtures.tokenRevocations(List.of()));
+        authorization = "Bearer " + jwtService.generateToken(BenchmarkFixtures.USER);
+    }
+
+    @Benchmark
+    public int authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.setServletPath("/api/projects");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
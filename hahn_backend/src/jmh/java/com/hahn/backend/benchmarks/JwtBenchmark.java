@@ -0,0 +1,43 @@
+package com.hahn.backend.benchmarks;
+
+import com.hahn.backend.services.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// JwtService.generateToken / extractUsername, with and without the verified-token cache
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService(10_000);
+        token = jwtService.generateToken(BenchmarkFixtures.USER);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(BenchmarkFixtures.USER);
+    }
+
+    // Repeat request with the same token: served by the verified-token cache
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    // First time a token is seen: full Base64 + JSON + HMAC verification
+    @Benchmark
+    public String extractUsernameUncached() {
+        return jwtService.extractClaim(token, Claims::getSubject);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hahn.backend.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hahn.backend.dto.response.ProjectDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Full project snapshot (GET /api/projects/{id}: ProjectDto + all its tasks) in each negotiable encoding
+// (ContentNegotiationConfig), plain or gzipped (ResponseCompressionFilter).
+// Time = serialization CPU per response. The payload size comes with it, as the secondary result
+// "serialize:bytes" (PayloadSize), in the same JMH report and result file.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class ProjectSnapshotSerializationBenchmark {
+
+    public enum Format {
+        JSON(new JsonFactory()), SMILE(new SmileFactory()), CBOR(new CBORFactory());
+
+        private final JsonFactory factory;
+
+        Format(JsonFactory factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"100", "5000"})
+    private int taskCount;
+
+    @Param
+    private Format format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private ProjectDto project;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot's date settings, as in the responses
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(format.factory)
+                .build();
+        project = ProjectDto.builder()
+                .id(1L)
+                .title("Benchmark project")
+                .description("A project with " + taskCount + " tasks")
+                .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0))
+                .version(3L)
+                .totalTasks(taskCount)
+                .tasks(BenchmarkFixtures.taskDtos(taskCount))
+                .build();
+
+    }
+
+    // EVENTS counters are reported as they are at the end of each iteration (not divided by the time):
+    // the size of the last response, the same for every call
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize size) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer, 8192) : buffer) {
+            objectMapper.writeValue(out, project);
+        }
+        byte[] payload = buffer.toByteArray();
+        size.bytes = payload.length;
+        return payload;
+    }
+}
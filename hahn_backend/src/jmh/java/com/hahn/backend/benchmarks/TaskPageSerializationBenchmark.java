@@ -0,0 +1,40 @@
+package com.hahn.backend.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.dto.response.TaskDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the GET /api/projects/{id}/tasks response (Page<TaskDto>)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class TaskPageSerializationBenchmark {
+
+    @Param({"5", "100", "1000"})
+    private int pageSize;
+
+    // configured like Spring Boot's auto-configured ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Page<TaskDto> page;
+
+    @Setup
+    public void setUp() {
+        page = new PageImpl<>(BenchmarkFixtures.taskDtos(pageSize),
+                PageRequest.of(0, pageSize, Sort.by("dueDate").descending()), 50_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,134 @@
+package com.hahn.backend.benchmarks;
+
+import com.hahn.backend.HahnBackendApplication;
+import com.hahn.backend.dto.projection.ProjectSummary;
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.entities.Project;
+import com.hahn.backend.entities.Task;
+import com.hahn.backend.entities.TaskStatus;
+import com.hahn.backend.entities.User;
+import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.TaskRepository;
+import com.hahn.backend.repositories.UserRepository;
+import com.hahn.backend.util.EntityMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Read paths of TaskServiceImpl / ProjectServiceImpl: managed entities + EntityMapper (before)
+// vs DTO projections (TaskRepository.TASK_DTO, ProjectSummary). Real Hibernate on an in-memory H2.
+// Allocation per call: mvn -P benchmarks verify -Djmh.args="-prof gc TaskReadBenchmark"  (gc.alloc.rate.norm)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TaskReadBenchmark {
+
+    private static final int TASK_COUNT = 1_000;
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private EntityManager entityManager;
+    private TaskRepository taskRepository;
+    private ProjectRepository projectRepository;
+    private EntityMapper mapper;
+    private Long projectId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HahnBackendApplication.class)
+                .properties(
+                        "server.port=0", // the security filter chain needs the web context, nobody calls it
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "logging.level.root=WARN",
+                        "application.search.fulltext.enabled=false",
+                        "application.security.jwt.secret-key=" + BenchmarkFixtures.SECRET,
+                        "application.security.jwt.expiration=86400000")
+                .run();
+
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+        mapper = context.getBean(EntityMapper.class);
+
+        User user = context.getBean(UserRepository.class)
+                .save(User.builder().email(BenchmarkFixtures.EMAIL).password("x").username("bench").build());
+        Project project = projectRepository.save(Project.builder().title("Benchmark project").user(user).build());
+        projectId = project.getId();
+
+        List<Task> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Description of task " + i)
+                    .dueDate(LocalDate.of(2030, 1, 1).plusDays(i % 365))
+                    .status(TaskStatus.values()[i % TaskStatus.values().length])
+                    .project(project)
+                    .build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // First page of the task list: same JPQL on both sides but the SELECT clause.
+    // The optional title/status filters are left out: MySQL folds ":title IS NULL" (client-side prepared
+    // statements), H2 can't and would scan the table on both sides, hiding the difference.
+    private static final String PAGE_WHERE = " FROM Task t WHERE t.project.id = :projectId ORDER BY t.dueDate DESC, t.id DESC";
+
+    @Benchmark
+    public List<TaskDto> pageFromEntities() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT t" + PAGE_WHERE, Task.class)
+                .setParameter("projectId", projectId)
+                .setMaxResults(pageSize)
+                .getResultList().stream()
+                .map(mapper::toTaskDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TaskDto> pageFromProjection() {
+        return readOnly.execute(status -> entityManager
+                .createQuery("SELECT " + TaskRepository.TASK_DTO + PAGE_WHERE, TaskDto.class)
+                .setParameter("projectId", projectId)
+                .setMaxResults(pageSize)
+                .getResultList());
+    }
+
+    // Project detail (project + its TASK_COUNT tasks), pageSize does not apply.
+    // Task.description is LAZY since the entities are enhanced: the entity side now reads it task by task
+    @Benchmark
+    public ProjectDto detailFromEntities() {
+        return readOnly.execute(status -> mapper.toProjectDto(projectRepository.findById(projectId).orElseThrow()));
+    }
+
+    @Benchmark
+    public ProjectDto detailFromProjection() {
+        return readOnly.execute(status -> {
+            ProjectSummary project = projectRepository.findSummaryById(projectId, true).orElseThrow();
+            return mapper.toProjectDto(project, taskRepository.findDtosByProjectId(projectId, true));
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.hahn.backend.benchmarks;
+
+import com.hahn.backend.dto.projection.RevokedToken;
+import com.hahn.backend.services.JwtService;
+import com.hahn.backend.services.TokenRevocationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// The per-request revocation check of JwtAuthenticationFilter with `revoked` live revocations.
+// Should stay flat whatever the count, and allocate nothing: -prof gc (gc.alloc.rate.norm)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class TokenRevocationBenchmark {
+
+    @Param({"0", "100000"})
+    private int revoked;
+
+    private TokenRevocationService revocations;
+    private JwtService.VerifiedToken validToken;
+    private JwtService.VerifiedToken revokedToken;
+
+    @Setup
+    public void setUp() {
+        List<RevokedToken> active = new ArrayList<>(revoked + 1);
+        for (int i = 0; i < revoked; i++) {
+            active.add(revokedToken(UUID.randomUUID().toString()));
+        }
+        String revokedId = UUID.randomUUID().toString();
+        active.add(revokedToken(revokedId));
+        revocations = BenchmarkFixtures.tokenRevocations(active);
+
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + 86_400_000L);
+        validToken = new JwtService.VerifiedToken(BenchmarkFixtures.EMAIL, expiration, UUID.randomUUID().toString(), now);
+        revokedToken = new JwtService.VerifiedToken(BenchmarkFixtures.EMAIL, expiration, revokedId, now);
+        revocations.isRevoked(revokedToken); // confirmed once, like the first request with it
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        return revocations.isRevoked(validToken);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocations.isRevoked(revokedToken);
+    }
+
+    private static RevokedToken revokedToken(String jti) {
+        return new RevokedToken() {
+            @Override
+            public String getJti() {
+                return jti;
+            }
+
+            @Override
+            public String getSubject() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getRevokedAt() {
+                return LocalDateTime.now();
+            }
+        };
+    }
+}
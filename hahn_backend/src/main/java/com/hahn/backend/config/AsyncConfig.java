@@ -0,0 +1,11 @@
+package com.hahn.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods use Spring Boot's "applicationTaskExecutor":
+// a thread pool by default, virtual threads with the "virtual-threads" profile
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,37 @@
+package com.hahn.backend.config;
+
+import com.hahn.backend.entities.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+// Principal of a JWT-authenticated request, cached by UserPrincipalCache and shared between requests:
+// immutable, and only what a request needs (no entity, no password hash). Load the User by id for the rest.
+public record AuthenticatedUser(Long id, String email, List<GrantedAuthority> authorities) implements UserDetails {
+
+    public AuthenticatedUser {
+        authorities = List.copyOf(authorities);
+    }
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // the token is the credential
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hahn.backend.config;
+
+import com.hahn.backend.services.CacheInvalidationBroadcaster;
+import com.hahn.backend.services.InJvmCacheInvalidationBroadcaster;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Cross-instance invalidation of the application caches (ProjectListCache).
+// In-JVM by default: another CacheInvalidationBroadcaster bean replaces it
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(CacheInvalidationBroadcaster.class)
+    public CacheInvalidationBroadcaster cacheInvalidationBroadcaster() {
+        return new InJvmCacheInvalidationBroadcaster();
+    }
+}
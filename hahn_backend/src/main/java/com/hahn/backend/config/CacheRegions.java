@@ -0,0 +1,17 @@
+package com.hahn.backend.config;
+
+// Names of the Hibernate second-level cache regions (see SecondLevelCacheConfig for their size/TTL)
+public final class CacheRegions {
+
+    public static final String USER = "user";
+    public static final String PROJECT = "project";
+    public static final String TASK = "task";
+    public static final String PROJECT_TASKS = "project.tasks";
+
+    // query cache: ids returned by findByEmail / findByUserId
+    public static final String USER_BY_EMAIL = "query.userByEmail";
+    public static final String PROJECTS_BY_USER = "query.projectsByUser";
+
+    private CacheRegions() {
+    }
+}
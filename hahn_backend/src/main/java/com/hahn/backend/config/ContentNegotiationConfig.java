@@ -0,0 +1,53 @@
+package com.hahn.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+// Binary encodings of the same DTOs for the service-to-service clients, chosen by their Accept header:
+//   Accept: application/x-jackson-smile  or  Accept: application/cbor
+// Spring MVC registers both converters as soon as the jars are there, but with plain Jackson settings
+// (dates as arrays...): these beans replace them, in the same place (after JSON, so Accept: */* still gets JSON),
+// with Spring Boot's settings, the same as the JSON responses.
+// JSON clients get gzip instead (ResponseCompressionFilter). ETags and Vary per representation: RepresentationETagFilter
+@Configuration
+public class ContentNegotiationConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private static final List<MediaType> BINARY_TYPES = List.of(APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    // Jackson2ObjectMapperBuilder is a prototype bean: a new one for each converter
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // true when the Accept header names Smile or CBOR, for endpoints that write JSON bytes themselves
+    // (ProjectListCache): the others can then let the converters negotiate
+    public static boolean acceptsBinary(String acceptHeader) {
+        if (acceptHeader == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(acceptHeader).stream()
+                    .anyMatch(accepted -> BINARY_TYPES.stream().anyMatch(accepted::equalsTypeAndSubtype));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
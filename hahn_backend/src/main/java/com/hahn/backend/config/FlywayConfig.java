@@ -0,0 +1,18 @@
+package com.hahn.backend.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Schema changes are versioned in db/migration, Hibernate only validates (ddl-auto=validate)
+@Configuration
+public class FlywayConfig {
+
+    // Databases created earlier by ddl-auto=update already hold V1: mark them as V1 and apply the rest on top
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1");
+    }
+}
@@ -0,0 +1,31 @@
+package com.hahn.backend.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.util.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// ProjectDto and TaskDto go through the "fields" filter of the response (?fields=, see FieldSelection).
+// Attached here rather than with @JsonFilter on the DTOs, and "serialize all" by default: anything serialized
+// without a selection (ProjectListCache, exports, events, a plain ObjectMapper) is unchanged.
+// Applies to the Smile / CBOR converters as well, they are built from the same Jackson2ObjectMapperBuilder
+@Configuration
+public class JacksonConfig {
+
+    @JsonFilter(FieldSelection.FILTER_ID)
+    interface FieldSelectionMixIn {
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilter() {
+        return builder -> builder
+                .mixIn(ProjectDto.class, FieldSelectionMixIn.class)
+                .mixIn(TaskDto.class, FieldSelectionMixIn.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
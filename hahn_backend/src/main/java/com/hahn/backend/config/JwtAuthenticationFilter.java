@@ -1,6 +1,8 @@
 package com.hahn.backend.config;
 
+import com.hahn.backend.repositories.UserRepository;
 import com.hahn.backend.services.JwtService;
+import com.hahn.backend.services.TokenRevocationService;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,8 +12,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +24,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService revocationService;
 
     @Override
     protected void doFilterInternal(
@@ -50,16 +53,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Parse (or hit the verified-token cache) ONCE, then reuse subject + expiry below
+            JwtService.VerifiedToken verifiedToken = jwtService.verifyToken(jwt);
+            userEmail = verifiedToken.username();
+
+            // Logged out / "revoke all": checked in memory, see TokenRevocationService
+            if (revocationService.isRevoked(verifiedToken)) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED); // 401: the frontend logs out
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\": \"Token has been revoked\"}");
+                return;
+            }
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                // The token already proves identity: only go to the DB when the principal is not cached
+                AuthenticatedUser principal = principalCache.get(userEmail, this::loadPrincipal);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (jwtService.isTokenValid(verifiedToken, principal)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -77,4 +91,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             response.getWriter().write("{\"error\": \"Invalid Token\"}");
         }
     }
+
+    private AuthenticatedUser loadPrincipal(String email) {
+        return userRepository.findByEmail(email)
+                .map(AuthenticatedUser::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
 }
\ No newline at end of file
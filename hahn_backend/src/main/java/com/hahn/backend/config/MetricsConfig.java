@@ -0,0 +1,53 @@
+package com.hahn.backend.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Prometheus scrape endpoint: /actuator/prometheus (on the management port, see docker-compose).
+// Spring Boot already binds http.server.requests, jvm.* (GC, memory, allocation), hikaricp.* and, with the
+// statistics below, hibernate.*; QueryCountFilter adds http.server.requests.sql.*
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterFilter applicationTag() {
+        return MeterFilter.commonTags(Tags.of("application", "hahn-backend"));
+    }
+
+    // Latency histogram per endpoint (uri tag): p95/p99 with histogram_quantile() in Prometheus,
+    // aggregated over all the instances, unlike client-side percentiles
+    @Bean
+    public MeterFilter httpServerRequestsHistogram() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals("http.server.requests")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateMetricsCustomizer() {
+        return properties -> {
+            // hibernate.* meters (statements, entity loads, second-level cache hits...) are empty without it
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementListener.class.getName());
+        };
+    }
+}
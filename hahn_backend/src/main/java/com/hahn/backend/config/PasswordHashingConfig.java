@@ -0,0 +1,48 @@
+package com.hahn.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// BCrypt (register, login) runs on its own bounded pool, see BoundedPasswordEncoder.
+// Meters: auth.password.hash (latency), auth.password.hash.queue.wait, auth.password.hash.queue / .active, .rejected
+@Configuration
+public class PasswordHashingConfig {
+
+    // 0 = half of the cores: the other half stays free for the rest of the API during a login storm
+    @Value("${application.security.password-hashing.threads:0}")
+    private int threads;
+
+    // hashes waiting for a thread; one more is rejected with a 429 right away
+    @Value("${application.security.password-hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    // The pool is not a bean of its own: an Executor bean would replace Spring Boot's applicationTaskExecutor
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        // Always platform threads, also with the virtual-threads profile: BCrypt is pure CPU work
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("bcrypt-");
+        executor.initialize();
+
+        Gauge.builder("auth.password.hash.queue", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), executor, meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.hahn.backend.config;
+
+import java.util.function.Supplier;
+
+// Reads that must see the latest commit even in a read-only transaction (delta sync watermark, ETags): the
+// connections taken inside call() come from the primary (ReplicaRoutingDataSource). Wrap the whole transaction
+// body: LazyConnectionDataSourceProxy takes the physical connection at the first statement and keeps it.
+// Without replicas it changes nothing.
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        if (isPinned()) {
+            return reads.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
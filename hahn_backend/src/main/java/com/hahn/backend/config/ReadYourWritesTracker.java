@@ -0,0 +1,47 @@
+package com.hahn.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+// Read-your-writes on top of the replicas: a user who wrote less than <window> ago reads from the primary,
+// a replica may not have applied the change yet. Keyed by the authenticated user (the JWT subject), so
+// writes without one (register, scheduled jobs) pin nobody. Window 0 = off.
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this.recentWriters = window.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    // a read-write connection was taken for the current user: counted from the start of the transaction,
+    // which only makes the window a little longer than the commit
+    public void markWrite() {
+        String user = currentUser();
+        if (recentWriters != null && user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        String user = currentUser();
+        return recentWriters != null && user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
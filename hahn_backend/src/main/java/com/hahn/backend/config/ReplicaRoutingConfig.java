@@ -0,0 +1,110 @@
+package com.hahn.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas. Opt-in: application.datasource.replicas.urls=jdbc:mysql://replica-1:3306/hahn_db,jdbc:mysql://...
+// Read-only transactions (@Transactional(readOnly = true), Spring Data finders) read from a replica, the rest
+// goes to the primary. LazyConnectionDataSourceProxy only takes a physical connection at the first statement,
+// once HibernateJpaDialect has marked it read-only, and then takes it from ReplicaRoutingDataSource.
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    @Value("${application.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${application.datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${application.datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${application.datasource.replicas.pool-size:10}")
+    private int poolSize;
+
+    // how long a read waits for a replica connection before trying the next replica / the primary
+    @Value("${application.datasource.replicas.connection-timeout-ms:1000}")
+    private long connectionTimeoutMs;
+
+    @Value("${application.datasource.replicas.selection:ROUND_ROBIN}")
+    private ReplicaRoutingDataSource.Selection selection;
+
+    // a replica further behind than this is taken out until it catches up; 0 = lag not checked
+    @Value("${application.datasource.replicas.max-lag-seconds:0}")
+    private long maxLagSeconds;
+
+    // reads of a user go to the primary for this long after one of their writes; 0 = off
+    @Value("${application.datasource.replicas.read-your-writes-ms:0}")
+    private long readYourWritesMs;
+
+    // Spring Boot only creates its pool when there is no DataSource bean: the primary is built the same way
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(Duration.ofMillis(readYourWritesMs), 100_000);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      ReadYourWritesTracker readYourWritesTracker,
+                                                      MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setConnectionTimeout(connectionTimeoutMs);
+            config.setReadOnly(true);
+            // a replica down at startup is marked down by the health check, it doesn't stop the application
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(pools, primaryDataSource, selection, readYourWritesTracker,
+                maxLagSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        // every read-write connection counts as a write of the current user
+        DataSource writes = new DelegatingDataSource(primaryDataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                readYourWritesTracker.markWrite();
+                return super.getConnection();
+            }
+        };
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writes);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,172 @@
+package com.hahn.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only connections (see ReplicaRoutingConfig): taken from a replica that passed its last health check,
+// round-robin or the one with the fewest active connections. No replica up (or one failing right now),
+// read-your-writes for the current user, or reads pinned with PrimaryReads: the primary.
+// Meters: db.replica.up (per replica), db.replica.primary.reads (reason), hikaricp.* (pool = replica-<n>)
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public enum Selection { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final Selection selection;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicasDown;
+    private final Counter recentWrite;
+    private final Counter pinned;
+
+    public ReplicaRoutingDataSource(List<HikariDataSource> replicaPools, DataSource primary, Selection selection,
+                                    ReadYourWritesTracker readYourWrites, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.primary = primary;
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+        this.maxLagSeconds = maxLagSeconds;
+        this.replicasDown = meterRegistry.counter("db.replica.primary.reads", "reason", "replicas_down");
+        this.recentWrite = meterRegistry.counter("db.replica.primary.reads", "reason", "read_your_writes");
+        this.pinned = meterRegistry.counter("db.replica.primary.reads", "reason", "pinned");
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.up", replica, r -> r.up ? 1 : 0)
+                    .tag("replica", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryReads.isPinned()) {
+            pinned.increment();
+            return primary.getConnection();
+        }
+        if (readYourWrites.mustReadPrimary()) {
+            recentWrite.increment();
+            return primary.getConnection();
+        }
+        for (Replica replica : candidates()) {
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                // e.g. the pool timed out: skip it until the next health check says otherwise
+                markDown(replica, e.getMessage());
+            }
+        }
+        replicasDown.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // explicit credentials: not those of the replica pools, so the primary
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replicas.health-check-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                String problem = problemOf(connection);
+                if (problem == null) {
+                    markUp(replica);
+                } else {
+                    markDown(replica, problem);
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private List<Replica> candidates() {
+        List<Replica> up = replicas.stream().filter(replica -> replica.up).toList();
+        if (up.size() <= 1) {
+            return up;
+        }
+        if (selection == Selection.LEAST_CONNECTIONS) {
+            return up.stream().sorted(Comparator.comparingInt(Replica::activeConnections)).toList();
+        }
+        // ROUND_ROBIN: the others follow in order, in case the first one fails
+        int start = Math.floorMod(next.getAndIncrement(), up.size());
+        List<Replica> ordered = new ArrayList<>(up.size());
+        for (int i = 0; i < up.size(); i++) {
+            ordered.add(up.get((start + i) % up.size()));
+        }
+        return ordered;
+    }
+
+    // null = healthy. The lag check (MySQL 8.0.22+) only runs when a maximum is set
+    private String problemOf(Connection connection) throws SQLException {
+        if (!connection.isValid(1)) {
+            return "connection not valid";
+        }
+        if (maxLagSeconds <= 0) {
+            return null;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                return "not a replica";
+            }
+            long lag = status.getLong("Seconds_Behind_Source");
+            if (status.wasNull()) {
+                return "replication stopped";
+            }
+            return lag > maxLagSeconds ? "lag " + lag + " s" : null;
+        }
+    }
+
+    private void markUp(Replica replica) {
+        if (!replica.up) {
+            replica.up = true;
+            log.info("Replica {} is back, reads go to it again", replica.pool.getPoolName());
+        }
+    }
+
+    private void markDown(Replica replica, String problem) {
+        if (replica.up) {
+            replica.up = false;
+            log.warn("Replica {} is down ({}), its reads go elsewhere", replica.pool.getPoolName(), problem);
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean up = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean != null ? mxBean.getActiveConnections() : 0;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.hahn.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+// JSON, Smile and CBOR (ContentNegotiationConfig) are representations of the same resource, chosen by Accept:
+// - the negotiated GET responses get Vary: Accept, so that a cache doesn't hand the Smile body to a JSON client
+// - a Smile / CBOR body gets its own ETag, "<tag>--smile" / "<tag>--cbor" (like "--gzip", ResponseCompressionFilter).
+//   The suffix is removed on the way in: from If-Match always, from If-None-Match only for the tags of a type the
+//   client still accepts. A tag of a type it doesn't accept (plain tag = JSON) must not match: it gets a 200
+// Inside ResponseCompressionFilter, which only gzips JSON: a tag never gets two suffixes.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RepresentationETagFilter extends OncePerRequestFilter {
+
+    static final Map<MediaType, String> ETAG_SUFFIXES = Map.of(
+            ContentNegotiationConfig.APPLICATION_SMILE, "--smile",
+            MediaType.APPLICATION_CBOR, "--cbor");
+
+    private static final List<MediaType> NEGOTIATED_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_PROBLEM_JSON, ContentNegotiationConfig.APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        List<MediaType> accepted = accepted(request.getHeader(HttpHeaders.ACCEPT));
+        String clientSuffix = suffixOf(request.getHeader(HttpHeaders.IF_NONE_MATCH), accepted);
+        boolean get = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+
+        TaggedResponse taggedResponse = new TaggedResponse(response, get);
+        filterChain.doFilter(new WithoutRepresentationTags(request, accepted), taggedResponse);
+        taggedResponse.finish(clientSuffix);
+    }
+
+    private static List<MediaType> accepted(String acceptHeader) {
+        if (acceptHeader == null) {
+            return List.of();
+        }
+        try {
+            return MediaType.parseMediaTypes(acceptHeader);
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+    }
+
+    private static MediaType parse(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAccepted(MediaType type, List<MediaType> accepted) {
+        return accepted.stream().anyMatch(type::equalsTypeAndSubtype);
+    }
+
+    // the suffix of a tag in this header whose type the client accepts, null = none
+    private static String suffixOf(String header, List<MediaType> accepted) {
+        if (header == null) {
+            return null;
+        }
+        return ETAG_SUFFIXES.entrySet().stream()
+                .filter(entry -> header.contains(entry.getValue() + "\"") && isAccepted(entry.getKey(), accepted))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String withoutSuffix(String value, String suffix) {
+        return value == null || suffix == null ? value : value.replace(suffix + "\"", "\"");
+    }
+
+    private static void tag(HttpServletResponse response, String suffix) {
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        if (eTag != null && eTag.endsWith("\"") && !eTag.endsWith(suffix + "\"")) {
+            response.setHeader(HttpHeaders.ETAG, eTag.substring(0, eTag.length() - 1) + suffix + "\"");
+        }
+    }
+
+    private static void varyOnAccept(HttpServletResponse response) {
+        boolean present = response.getHeaders(HttpHeaders.VARY).stream()
+                .flatMap(vary -> List.of(vary.split(",")).stream())
+                .anyMatch(name -> name.trim().equalsIgnoreCase(HttpHeaders.ACCEPT) || name.trim().equals("*"));
+        if (!present) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+    }
+
+    // If-None-Match / If-Match as the controllers and checkNotModified expect them: without the type suffix
+    private static final class WithoutRepresentationTags extends HttpServletRequestWrapper {
+
+        private final List<MediaType> accepted;
+
+        WithoutRepresentationTags(HttpServletRequest request, List<MediaType> accepted) {
+            super(request);
+            this.accepted = accepted;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return strip(name, super.getHeader(name));
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) && !HttpHeaders.IF_MATCH.equalsIgnoreCase(name)) {
+                return super.getHeaders(name);
+            }
+            return Collections.enumeration(Collections.list(super.getHeaders(name)).stream()
+                    .map(value -> strip(name, value))
+                    .filter(value -> value != null)
+                    .toList());
+        }
+
+        private String strip(String name, String value) {
+            if (HttpHeaders.IF_MATCH.equalsIgnoreCase(name)) {
+                // a version check, whatever the representation the client read it from
+                for (String suffix : ETAG_SUFFIXES.values()) {
+                    value = withoutSuffix(value, suffix);
+                }
+                return value;
+            }
+            if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) && value != null) {
+                List<String> tags = List.of(value.split(",")).stream()
+                        .map(String::trim)
+                        .map(this::ownTag)
+                        .filter(tag -> tag != null)
+                        .toList();
+                return tags.isEmpty() ? null : String.join(", ", tags);
+            }
+            return value;
+        }
+
+        // the tag as the controller would have written it, null = a representation this request won't get
+        private String ownTag(String tag) {
+            if (tag.equals("*")) {
+                return tag;
+            }
+            for (Map.Entry<MediaType, String> entry : ETAG_SUFFIXES.entrySet()) {
+                if (tag.endsWith(entry.getValue() + "\"")) {
+                    return isAccepted(entry.getKey(), accepted) ? withoutSuffix(tag, entry.getValue()) : null;
+                }
+            }
+            return acceptsJson() ? tag : null;
+        }
+
+        // no Accept = */*
+        private boolean acceptsJson() {
+            return accepted.isEmpty() || accepted.stream().anyMatch(type -> type.includes(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // The headers are final at the first write (or flush): the ETag is suffixed there, once the type is known
+    private static final class TaggedResponse extends HttpServletResponseWrapper {
+
+        private final boolean get;
+        private boolean tagged;
+
+        TaggedResponse(HttpServletResponse response, boolean get) {
+            super(response);
+            this.get = get;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            tagOnce();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            tagOnce();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            tagOnce();
+            super.flushBuffer();
+        }
+
+        private void tagOnce() {
+            if (tagged || isCommitted()) {
+                return;
+            }
+            tagged = true;
+            MediaType type = parse(getContentType());
+            if (type == null || NEGOTIATED_TYPES.stream().noneMatch(type::equalsTypeAndSubtype)) {
+                return;
+            }
+            ETAG_SUFFIXES.forEach((binaryType, suffix) -> {
+                if (binaryType.equalsTypeAndSubtype(type)) {
+                    tag(this, suffix);
+                }
+            });
+            if (get) {
+                varyOnAccept(this);
+            }
+        }
+
+        void finish(String clientSuffix) {
+            if (tagged || isCommitted()) {
+                return;
+            }
+            // 304 (no body): the client keeps the representation it has, with the tag it has
+            if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                tagged = true;
+                if (clientSuffix != null) {
+                    tag(this, clientSuffix);
+                }
+                varyOnAccept(this);
+                return;
+            }
+            tagOnce();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hahn.backend.config;
+
+// SQL statements run by the current request thread: opened by QueryCountFilter, filled by SqlStatementListener.
+// Nothing is counted outside of a request (scheduled jobs, @Async listeners).
+final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    private RequestSqlStats() {
+    }
+
+    static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
@@ -0,0 +1,293 @@
+package com.hahn.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// gzip of the JSON responses, for the clients that send Accept-Encoding: gzip (~10x smaller for a project snapshot,
+// see ProjectSnapshotSerializationBenchmark). Smile / CBOR clients get a compact body instead (ContentNegotiationConfig).
+// Not Tomcat's server.compression: it never compresses a response with a strong ETag, i.e. any of our GETs.
+// Like Jetty's GzipHandler, the gzipped representation gets its own ETag ("<tag>--gzip") and the suffix is removed
+// from If-None-Match / If-Match on the way in: conditional GETs and If-Match work the same with or without gzip.
+// Only a JSON body is buffered, then written out at once; anything else (SSE, exports) streams as before,
+// and so does a JSON body written with a WriteListener (non-blocking I/O): it goes out uncompressed.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP_ETAG_SUFFIX = "--gzip";
+
+    @Value("${application.compression.enabled:true}")
+    private boolean enabled = true;
+
+    // below this, gzip costs more than it saves
+    @Value("${application.compression.min-response-size:2048}")
+    private int minResponseSize = 2048;
+
+    @Value("${application.compression.mime-types:application/json,application/problem+json}")
+    private String mimeTypes = "application/json,application/problem+json";
+
+    private List<MediaType> compressibleTypes;
+
+    @PostConstruct
+    void init() {
+        compressibleTypes = MediaType.parseMediaTypes(mimeTypes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean clientHasGzipTag = hasGzipTag(request, HttpHeaders.IF_NONE_MATCH);
+        GzipResponse gzipResponse = new GzipResponse(request, response);
+        filterChain.doFilter(new WithoutGzipTags(request), gzipResponse);
+        gzipResponse.finish(clientHasGzipTag);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" = anything but gzip
+                return parts.length == 1 || !parts[1].trim().toLowerCase(Locale.ROOT).matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return compressibleTypes.stream().anyMatch(type::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasGzipTag(HttpServletRequest request, String header) {
+        String value = request.getHeader(header);
+        return value != null && value.contains(GZIP_ETAG_SUFFIX + "\"");
+    }
+
+    private static String withoutGzipTags(String value) {
+        return value == null ? null : value.replace(GZIP_ETAG_SUFFIX + "\"", "\"");
+    }
+
+    // If-None-Match / If-Match as the controllers and checkNotModified expect them: without the gzip suffix
+    private static final class WithoutGzipTags extends HttpServletRequestWrapper {
+
+        WithoutGzipTags(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isConditional(name) ? withoutGzipTags(super.getHeader(name)) : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!isConditional(name)) {
+                return super.getHeaders(name);
+            }
+            return Collections.enumeration(Collections.list(super.getHeaders(name)).stream()
+                    .map(ResponseCompressionFilter::withoutGzipTags)
+                    .toList());
+        }
+
+        private static boolean isConditional(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name);
+        }
+    }
+
+    // Decides on the first write, once the content type is known: compressible -> buffered, otherwise streamed
+    private final class GzipResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        // a WriteListener was set: nothing is buffered any more
+        private boolean streaming;
+        private ByteArrayOutputStream buffer;
+        private ServletOutputStream bufferStream;
+        private PrintWriter bufferWriter;
+
+        GzipResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return startBuffering() ? bufferStream : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (!startBuffering()) {
+                return super.getWriter();
+            }
+            if (bufferWriter == null) {
+                bufferWriter = new PrintWriter(new OutputStreamWriter(bufferStream, getCharacterEncoding()));
+            }
+            return bufferWriter;
+        }
+
+        // nothing is committed while buffering: the headers are still ours to change in finish()
+        @Override
+        public void flushBuffer() throws IOException {
+            if (buffer == null) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        private boolean startBuffering() {
+            if (buffer == null && !streaming && !isCommitted() && !request.isAsyncStarted()
+                    && isCompressible(getContentType())) {
+                buffer = new ByteArrayOutputStream(8192);
+                bufferStream = new BufferStream();
+            }
+            return buffer != null;
+        }
+
+        void finish(boolean clientHasGzipTag) throws IOException {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (buffer == null) {
+                // 304 to a client holding the gzipped representation: same tag as the one it has
+                if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED && clientHasGzipTag) {
+                    tagAsGzip(response);
+                }
+                return;
+            }
+            if (bufferWriter != null) {
+                bufferWriter.flush();
+            }
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (buffer.size() < minResponseSize) {
+                response.setContentLength(buffer.size());
+                buffer.writeTo(response.getOutputStream());
+                return;
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(buffer.size() / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192)) {
+                buffer.writeTo(gzip);
+            }
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            tagAsGzip(response);
+            // replaces the length of the plain body, if a converter set it
+            response.setContentLength(compressed.size());
+            compressed.writeTo(response.getOutputStream());
+        }
+
+        private void tagAsGzip(HttpServletResponse response) {
+            String eTag = response.getHeader(HttpHeaders.ETAG);
+            if (eTag != null && eTag.endsWith("\"")) {
+                response.setHeader(HttpHeaders.ETAG, eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + "\"");
+            }
+        }
+
+        // Writes to the buffer, or straight to the response once a WriteListener takes over
+        private final class BufferStream extends ServletOutputStream {
+
+            private ServletOutputStream direct;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (direct != null) {
+                    direct.write(b);
+                } else {
+                    buffer.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (direct != null) {
+                    direct.write(b, off, len);
+                } else {
+                    buffer.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (direct != null) {
+                    direct.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return direct == null || direct.isReady();
+            }
+
+            // Non-blocking writes can't be held back until finish(): stop buffering, what is buffered goes out
+            // first (still a blocking write, the listener isn't set yet), uncompressed, and the container's stream
+            // calls the listener from now on
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                if (direct == null) {
+                    try {
+                        direct = getResponse().getOutputStream();
+                        buffer.writeTo(direct);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    streaming = true;
+                    buffer = null;
+                }
+                direct.setWriteListener(writeListener);
+            }
+        }
+    }
+}
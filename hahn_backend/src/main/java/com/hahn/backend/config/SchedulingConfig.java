@@ -0,0 +1,10 @@
+package com.hahn.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Housekeeping jobs (@Scheduled), e.g. TaskDeletionCleanup
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,95 @@
+package com.hahn.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Opt-in Hibernate second-level + query cache (JCache API, Caffeine in-process).
+// Every region is created here with its own size/TTL:
+//   application.jpa.second-level-cache.regions.<region>.max-size / .ttl-seconds
+// Hit/miss/put counters: hibernate.second.level.cache.* meters (MetricsConfig) + the JCache MBeans (javax.cache:type=CacheStatistics)
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String ENABLED = "application.jpa.second-level-cache.enabled";
+    private static final String REGION_PREFIX = "application.jpa.second-level-cache.regions.";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+    public CacheManager secondLevelCacheManager(Environment env) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, env, CacheRegions.USER, 10_000, 600);
+        createRegion(cacheManager, env, CacheRegions.PROJECT, 10_000, 600);
+        createRegion(cacheManager, env, CacheRegions.TASK, 100_000, 600);
+        createRegion(cacheManager, env, CacheRegions.PROJECT_TASKS, 10_000, 600);
+        createRegion(cacheManager, env, CacheRegions.USER_BY_EMAIL, 10_000, 300);
+        createRegion(cacheManager, env, CacheRegions.PROJECTS_BY_USER, 10_000, 300);
+        createRegion(cacheManager, env, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 1_000, 300);
+        // Last write time per table: a cached query result older than it is ignored.
+        // Must outlive every query region, so it is never evicted (one entry per table)
+        createRegion(cacheManager, env, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "true")
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // a region missing above is a bug, not something to create with default settings
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Tasks are saved with task.setProject(...) without touching project.getTasks():
+            // evict the cached Project.tasks collection when the owning side changes
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    // hibernate-jcache on the classpath is enough for Hibernate to turn the cache on by itself,
+    // with unbounded default regions: switch it off explicitly when not enabled
+    @Bean
+    @ConditionalOnProperty(name = ENABLED, havingValue = "false", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheDisabledCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    // maxSize / ttlSeconds 0 = unbounded
+    private void createRegion(CacheManager cacheManager, Environment env, String region,
+                              long defaultMaxSize, long defaultTtlSeconds) {
+        long maxSize = env.getProperty(REGION_PREFIX + region + ".max-size", Long.class, defaultMaxSize);
+        long ttlSeconds = env.getProperty(REGION_PREFIX + region + ".ttl-seconds", Long.class, defaultTtlSeconds);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                // Hibernate already stores disassembled copies, no need for serialization on top
+                .setStoreByValue(false)
+                .setStatisticsEnabled(true)
+                .setManagementEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,31 @@
+package com.hahn.backend.config;
+
+import org.hibernate.SessionEventListener;
+
+// Times every JDBC execution of a Session into RequestSqlStats.
+// Registered with hibernate.session.events.auto (MetricsConfig): Hibernate creates one per Session.
+// A JDBC batch (saveAll, batch endpoints) is one round trip, so it counts as one statement.
+public class SqlStatementListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestSqlStats.record(System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestSqlStats.record(System.nanoTime() - startedAt);
+    }
+}
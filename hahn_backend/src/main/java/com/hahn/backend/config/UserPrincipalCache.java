@@ -0,0 +1,60 @@
+package com.hahn.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// email -> AuthenticatedUser, so the JWT filter does not hit the users table on every request
+@Component
+public class UserPrincipalCache {
+
+    @Value("${application.security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${application.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, AuthenticatedUser> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+        // Not principals.get(email, loader): that runs the DB query inside a ConcurrentHashMap bin lock,
+        // which pins the carrier thread in virtual-thread mode. Two concurrent misses may both load, that's fine.
+        AuthenticatedUser cached = principals.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        AuthenticatedUser loaded = loader.apply(email);
+        principals.put(email, loaded);
+        return loaded;
+    }
+
+    // Call this whenever the user row changes (profile update, password change...)
+    public void evict(String email) {
+        principals.invalidate(email);
+
+        // Evict again once the change is committed, a request running in between may have re-cached the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(email);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hahn.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// The "virtual-threads" profile needs a Java 21+ runtime (the code targets 17). On an older JVM Spring Boot
+// silently ignores spring.threads.virtual.enabled and keeps Tomcat's 200 platform threads, while the profile
+// still shrinks the Hikari pool and raises the connection limits it sized for virtual threads: refuse to start.
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    static final int REQUIRED_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        requireJavaVersion(Runtime.version().feature());
+    }
+
+    static void requireJavaVersion(int javaVersion) {
+        if (javaVersion < REQUIRED_JAVA_VERSION) {
+            throw new IllegalStateException("The virtual-threads profile needs Java " + REQUIRED_JAVA_VERSION
+                    + " or later, this JVM is Java " + javaVersion + ". Remove the profile or run on Java 21+");
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.hahn.backend.controllers;
 import com.hahn.backend.dto.request.LoginRequest;
 import com.hahn.backend.dto.request.RegisterRequest;
 import com.hahn.backend.dto.response.AuthResponse;
+import com.hahn.backend.services.AuthRateLimiter;
 import com.hahn.backend.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,16 +16,26 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     public final AuthService authService;
+    private final AuthRateLimiter rateLimiter;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request){
+    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request, HttpServletRequest httpRequest){
+        rateLimiter.checkRegister(httpRequest.getRemoteAddr());
         return ResponseEntity.ok(authService.register(request)) ;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request ){
+    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest){
+        rateLimiter.checkLogin(httpRequest.getRemoteAddr(), request.getEmail());
         return ResponseEntity.ok(authService.login(request)) ;
     }
 
+    // The filter skips /auth: the token comes straight from the header
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        authService.logout(authorization);
+        return ResponseEntity.noContent().build();
+    }
+
 
 }
@@ -1,10 +1,23 @@
 package com.hahn.backend.controllers;
 
+import com.hahn.backend.config.ContentNegotiationConfig;
+import com.hahn.backend.config.PrimaryReads;
 import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.services.ProjectEventBroker;
+import com.hahn.backend.services.ProjectListCache;
 import com.hahn.backend.services.ProjectService;
+import com.hahn.backend.services.RequestCoalescer;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.ResourceVersion;
+import com.hahn.backend.util.Versioned;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
 import java.util.List;
@@ -15,6 +28,9 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectEventBroker eventBroker;
+    private final RequestCoalescer coalescer;
+    private final ProjectListCache projectListCache;
 
     @PostMapping
     public ResponseEntity<ProjectDto> createProject(
@@ -24,26 +40,97 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.createProject(request, principal.getName()));
     }
 
+    // CONDITIONAL GETs: the ETag comes from one aggregate query; the entities are only
+    // loaded and mapped when it changed. Otherwise: 304, empty body.
+    // (version read BEFORE the body: at worst the ETag is older than the body, never newer)
+    // The version comes from the primary, so does a body sent under it (PrimaryReads): not a lagging replica's
+    // The full JSON list comes from ProjectListCache: already serialized, with its ETag, until a write evicts it.
+    // Smile / CBOR clients (ContentNegotiationConfig) and sparse lists (?fields= / ?include=, see FieldSelection)
+    // get it mapped per request, through the converters. Same ETag for every selection, the URL tells them apart
     @GetMapping
-    public ResponseEntity<List<ProjectDto>> getMyProjects(Principal principal) {
-        return ResponseEntity.ok(projectService.getProjectsByUser(principal.getName()));
+    public ResponseEntity<?> getMyProjects(
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            Principal principal,
+            WebRequest webRequest
+    ) {
+        String email = principal.getName();
+        FieldSelection selection = FieldSelection.forProjectList(fields, include);
+        if (!selection.equals(FieldSelection.PROJECT_LIST)
+                || ContentNegotiationConfig.acceptsBinary(webRequest.getHeader(HttpHeaders.ACCEPT))) {
+            ResourceVersion version = projectService.getProjectsVersion(email);
+            if (webRequest.checkNotModified(version.eTag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(version.eTag())
+                    .lastModified(version.lastModifiedMillis())
+                    .body(selection.apply(PrimaryReads.call(() -> projectService.getProjectsByUser(email, selection))));
+        }
+
+        ProjectListCache.Entry list = projectListCache.get(email,
+                () -> projectService.getProjectsVersion(email),
+                () -> projectService.getProjectsByUser(email, FieldSelection.PROJECT_LIST));
+        if (webRequest.checkNotModified(list.eTag())) {
+            return null; // 304, headers set by checkNotModified
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(list.eTag())
+                .lastModified(list.lastModifiedMillis())
+                .body(list.json());
     }
 
+    // ?fields= / ?include= (see FieldSelection): e.g. fields=title,tasks.title,tasks.status skips every description
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDto> getProjectById(
+    public ResponseEntity<MappingJacksonValue> getProjectById(
             @PathVariable Long id,
-            Principal principal
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            Principal principal,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(projectService.getProjectById(id, principal.getName()));
+        FieldSelection selection = FieldSelection.forProject(fields, include);
+        ResourceVersion version = projectService.getProjectVersion(id, principal.getName());
+        if (webRequest.checkNotModified(version.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModifiedMillis())
+                // identical concurrent requests at this version share one load (see RequestCoalescer)
+                .body(selection.apply(coalescer.execute("project.detail",
+                        () -> PrimaryReads.call(() -> projectService.getProjectById(id, principal.getName(), selection)),
+                        principal.getName(), id, selection, version.eTag())));
     }
 
+    // If-Match (optional): the ETag of the GET, or "v<version>". Stale -> 412.
+    // The response is the GET's body with the GET's ETag
     @PutMapping("/{id}")
     public ResponseEntity<ProjectDto> updateProject(
             @PathVariable Long id,
             @RequestBody ProjectDto request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            Principal principal
+    ) {
+        Versioned<ProjectDto> updated = projectService.updateProject(
+                id, request, ResourceVersion.expectedVersion(ifMatch), principal.getName());
+        return ResponseEntity.ok()
+                .eTag(updated.version().eTag())
+                .lastModified(updated.version().lastModifiedMillis())
+                .body(updated.body());
+    }
+
+    // Server-Sent Events: TASK_CREATED / TASK_UPDATED / TASK_DELETED / PROJECT_UPDATED / PROJECT_DELETED.
+    // Needs the Authorization header, so a fetch-based SSE client rather than the browser's EventSource.
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToEvents(
+            @PathVariable Long id,
             Principal principal
     ) {
-        return ResponseEntity.ok(projectService.updateProject(id, request, principal.getName()));
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // nginx: pass the events through, don't buffer them
+                .body(eventBroker.subscribe(id, principal.getName()));
     }
 
     @DeleteMapping("/{id}")
@@ -1,14 +1,26 @@
 package com.hahn.backend.controllers;
 
+import com.hahn.backend.config.PrimaryReads;
+import com.hahn.backend.dto.response.TaskChanges;
 import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.entities.TaskStatus;
+import com.hahn.backend.services.OwnershipService;
+import com.hahn.backend.services.RequestCoalescer;
 import com.hahn.backend.services.TaskService;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.ResourceVersion;
+import com.hahn.backend.util.TaskExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.security.Principal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -16,6 +28,8 @@ import java.security.Principal;
 public class TaskController {
 
     private final TaskService taskService;
+    private final RequestCoalescer coalescer;
+    private final OwnershipService ownershipService;
 
     @PostMapping("/projects/{projectId}/tasks")
     public ResponseEntity<TaskDto> createTask(
@@ -33,27 +47,104 @@ public class TaskController {
 //    ) {
 //        return ResponseEntity.ok(taskService.getTasksByProject(projectId, principal.getName()));
 //    }
+    // ?fields= (see FieldSelection): e.g. fields=title,status,dueDate for a list that doesn't show the descriptions
     @GetMapping("/projects/{projectId}/tasks")
-    public ResponseEntity<Page<TaskDto>> getTasksByProject(
+    public ResponseEntity<MappingJacksonValue> getTasksByProject(
             @PathVariable Long projectId,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String fields,
+            Principal principal,
+            WebRequest webRequest
+    ) {
+        FieldSelection selection = FieldSelection.forTasks(fields);
+        // Conditional GET (see ProjectController): same ETag for every filter/page, the URL tells them apart.
+        // Body from the primary too, like the version: never older than its ETag
+        ResourceVersion version = taskService.getTasksVersion(projectId, principal.getName());
+        if (webRequest.checkNotModified(version.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModifiedMillis())
+                // identical concurrent requests at this version share one query (see RequestCoalescer)
+                .body(selection.apply(coalescer.execute("tasks.page",
+                        () -> PrimaryReads.call(() -> taskService.getTasksByProjectWithFilters(
+                                projectId, search, status, page, size, selection, principal.getName())),
+                        principal.getName(), projectId, search, status, page, size, selection, version.eTag())));
+    }
+
+    // Keyset pagination for large projects: pass back "nextCursor" to get the following page
+    @GetMapping("/projects/{projectId}/tasks/cursor")
+    public ResponseEntity<MappingJacksonValue> getTasksByProjectAfterCursor(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String fields,
+            Principal principal,
+            WebRequest webRequest
+    ) {
+        FieldSelection selection = FieldSelection.forTasks(fields);
+        ResourceVersion version = taskService.getTasksVersion(projectId, principal.getName());
+        if (webRequest.checkNotModified(version.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModifiedMillis())
+                .body(selection.apply(PrimaryReads.call(() -> taskService.getTasksByProjectAfterCursor(
+                        projectId, search, status, cursor, size, selection, principal.getName()
+                ))));
+    }
+
+    // Delta sync for polling clients: only what changed since the last call.
+    // No token = full first sync; then pass back "nextToken" (and call again at once while "hasMore")
+    @GetMapping("/projects/{projectId}/tasks/changes")
+    public ResponseEntity<TaskChanges> getTaskChanges(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit,
             Principal principal
     ) {
-        return ResponseEntity.ok(taskService.getTasksByProjectWithFilters(
-                projectId, search, status, page, size, principal.getName()
-        ));
+        return ResponseEntity.ok(taskService.getTaskChanges(projectId, since, limit, principal.getName()));
+    }
+
+    // "Export All Tasks": rows go straight from the DB cursor to the response (format = ndjson | csv)
+    @GetMapping("/projects/{projectId}/tasks/export")
+    public void exportTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            Principal principal,
+            HttpServletResponse response
+    ) throws IOException {
+        TaskExportFormat exportFormat = TaskExportFormat.from(format);
+        // Checked before any header is set: once the content type is text/csv, an error can't be written as JSON
+        ownershipService.checkProjectOwner(projectId, principal.getName(), "You are not authorized to export these tasks");
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"project-" + projectId + "-tasks." + exportFormat.getFileExtension() + "\"");
+
+        taskService.exportTasks(projectId, exportFormat, response.getOutputStream());
     }
 
+    // If-Match (optional): "v<version>" with the version of the TaskDto. Stale -> 412
     @PutMapping("/tasks/{taskId}")
     public ResponseEntity<TaskDto> updateTask(
             @PathVariable Long taskId,
             @RequestBody TaskDto request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Principal principal
     ) {
-        return ResponseEntity.ok(taskService.updateTask(taskId, request, principal.getName()));
+        TaskDto updated = taskService.updateTask(
+                taskId, request, ResourceVersion.expectedVersion(ifMatch), principal.getName());
+        return ResponseEntity.ok()
+                .eTag(ResourceVersion.entityTag(updated.getVersion()))
+                .body(updated);
     }
 
     @DeleteMapping("/tasks/{taskId}")
@@ -64,4 +155,31 @@ public class TaskController {
         taskService.deleteTask(taskId, principal.getName());
         return ResponseEntity.noContent().build();
     }
+
+    // BATCH endpoints (bulk import, bulk status change...): one transaction per call
+    @PostMapping("/projects/{projectId}/tasks:batch")
+    public ResponseEntity<List<TaskDto>> createTasks(
+            @PathVariable Long projectId,
+            @RequestBody List<TaskDto> requests,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(taskService.createTasks(projectId, requests, principal.getName()));
+    }
+
+    @PatchMapping("/tasks:batch")
+    public ResponseEntity<List<TaskDto>> updateTasks(
+            @RequestBody List<TaskDto> requests,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(taskService.updateTasks(requests, principal.getName()));
+    }
+
+    @PostMapping("/tasks:batchDelete")
+    public ResponseEntity<Void> deleteTasks(
+            @RequestBody List<Long> taskIds,
+            Principal principal
+    ) {
+        taskService.deleteTasks(taskIds, principal.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
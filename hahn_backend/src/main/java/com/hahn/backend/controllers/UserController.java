@@ -25,4 +25,11 @@ public class UserController {
     ) {
         return ResponseEntity.ok(userService.updateUser(id, request));
     }
+
+    // "Log out everywhere": the token of this request is revoked too
+    @DeleteMapping("/me/tokens")
+    public ResponseEntity<Void> revokeAllTokens() {
+        userService.revokeAllTokens();
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
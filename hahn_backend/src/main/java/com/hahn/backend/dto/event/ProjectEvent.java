@@ -0,0 +1,21 @@
+package com.hahn.backend.dto.event;
+
+import java.util.List;
+
+// Change of a project or of its tasks, pushed to the SSE subscribers of the project
+// (GET /api/projects/{id}/events) once the transaction is committed.
+// Ids only: a client fetches what it needs, e.g. GET /api/projects/{id}/tasks/changes
+public record ProjectEvent(Type type, Long projectId, List<Long> taskIds) {
+
+    public enum Type {
+        TASK_CREATED, TASK_UPDATED, TASK_DELETED, PROJECT_UPDATED, PROJECT_DELETED
+    }
+
+    public static ProjectEvent ofTasks(Type type, Long projectId, List<Long> taskIds) {
+        return new ProjectEvent(type, projectId, List.copyOf(taskIds));
+    }
+
+    public static ProjectEvent ofProject(Type type, Long projectId) {
+        return new ProjectEvent(type, projectId, List.of());
+    }
+}
@@ -0,0 +1,12 @@
+package com.hahn.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+// Columns of a project shown by GET /api/projects/{id}, without hydrating the entity or its tasks collection
+public interface ProjectSummary {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDateTime getCreatedAt();
+    Long getVersion();
+}
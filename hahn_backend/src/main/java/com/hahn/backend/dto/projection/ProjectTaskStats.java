@@ -0,0 +1,8 @@
+package com.hahn.backend.dto.projection;
+
+// Interface projection filled by the GROUP BY query in ProjectRepository (no Task entities are loaded)
+public interface ProjectTaskStats {
+    Long getProjectId();
+    Long getTotalTasks();
+    Long getCompletedTasks();
+}
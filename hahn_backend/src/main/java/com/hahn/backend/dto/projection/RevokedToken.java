@@ -0,0 +1,10 @@
+package com.hahn.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+// What the in-memory revocation check needs from a token_revocations row
+public interface RevokedToken {
+    String getJti();
+    String getSubject();
+    LocalDateTime getRevokedAt();
+}
@@ -0,0 +1,7 @@
+package com.hahn.backend.dto.projection;
+
+// task id + the FK of its project, read without loading either entity
+public interface TaskProjectRef {
+    Long getId();
+    Long getProjectId();
+}
@@ -0,0 +1,16 @@
+package com.hahn.backend.dto.projection;
+
+import com.hahn.backend.entities.TaskStatus;
+
+import java.time.LocalDate;
+
+// TaskDto columns of a native query (full-text search), read straight from the result set: no Task entity
+public interface TaskRow {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    LocalDate getDueDate();
+    TaskStatus getStatus();
+    Long getProjectId();
+    Long getVersion();
+}
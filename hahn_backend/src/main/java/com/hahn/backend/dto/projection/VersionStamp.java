@@ -0,0 +1,13 @@
+package com.hahn.backend.dto.projection;
+
+import java.time.LocalDateTime;
+
+// Cheap fingerprint of a set of rows, used to build ETags without loading them:
+// ids come from sequences and are never reused, and every update bumps @Version,
+// so (count, sum of ids, sum of versions) changes on any insert, update or delete
+public interface VersionStamp {
+    Long getRowCount();
+    Long getIdSum();
+    Long getVersionSum();
+    LocalDateTime getLastUpdated();
+}
@@ -0,0 +1,18 @@
+package com.hahn.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+// Keyset page: no total count (that's the point), just the rows and where to continue
+@Data
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // null on the last page
+}
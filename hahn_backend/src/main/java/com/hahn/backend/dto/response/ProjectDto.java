@@ -1,5 +1,6 @@
 package com.hahn.backend.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,11 +14,14 @@ public class ProjectDto {
     private String title;
     private String description;
     private LocalDateTime createdAt;
+    private Long version;
 
     // Calculated Fields (Not in DB)
     private int totalTasks;
     private int completedTasks;
     private double progress; // 0.0 to 100.0
 
+    // null in list responses (GET /api/projects), so it is left out of the JSON
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TaskDto> tasks;
 }
@@ -0,0 +1,18 @@
+package com.hahn.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+// Delta-sync response: upsert "changed", remove "deleted", then call again with "nextToken"
+@Data
+@AllArgsConstructor
+@Builder
+public class TaskChanges {
+    private List<TaskDto> changed; // created or updated since the token, oldest first
+    private List<Long> deleted;    // ids of the tasks deleted since the token
+    private String nextToken;
+    private boolean hasMore;       // true = call again right away, the next page is ready
+}
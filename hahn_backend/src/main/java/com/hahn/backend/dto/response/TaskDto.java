@@ -20,4 +20,11 @@ public class TaskDto {
     private LocalDate dueDate;
     private TaskStatus status;
     private Long projectId;
+    // read-only: send it back as If-Match: "v<version>" on PUT /api/tasks/{id}
+    private Long version;
+
+    // TaskRepository.TASK_DTO_WITHOUT_DESCRIPTION (?fields= without the description)
+    public TaskDto(Long id, String title, LocalDate dueDate, TaskStatus status, Long projectId, Long version) {
+        this(id, title, null, dueDate, status, projectId, version);
+    }
 }
@@ -1,11 +1,16 @@
 package com.hahn.backend.entities;
 
+import com.hahn.backend.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,7 +21,15 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        // findByUserId / the project list, in creation order
+        @Index(name = "idx_projects_user_created", columnList = "user_id, created_at")
+})
+// Projects waiting for the background purge (see ProjectPurgeWorker) are invisible to every query
+@SQLRestriction("deleted_at IS NULL")
+// Second-level cache (when enabled, see SecondLevelCacheConfig)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROJECT)
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,16 +38,35 @@ public class Project {
     @Column(nullable = false)
     private String title ;
 
+    // LAZY through bytecode enhancement, like Task.description
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String description ;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    // Optimistic locking + ETag of the project (If-Match on PUT)
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Set when a big project is deleted: its tasks are then removed in chunks, in the background
+    private LocalDateTime deletedAt;
+
+    // The instance purging it (ProjectPurgeWorker) and its lease, renewed at every chunk
+    private String purgeOwner;
+
+    private LocalDateTime purgeClaimedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id" , nullable = false)
     private User user ;
 
+    // ids only: the tasks themselves come from the "task" region
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROJECT_TASKS)
     @OneToMany(mappedBy = "project" , cascade = CascadeType.ALL ,orphanRemoval = true)
     private List<Task> tasks = new ArrayList<>();
 
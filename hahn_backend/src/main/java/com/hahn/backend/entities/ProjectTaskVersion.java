@@ -0,0 +1,31 @@
+package com.hahn.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Version of the task list of a project: bumped by every task write (create, update, delete), so the ETags of
+// the task list, the project and the project list read one row per project instead of aggregating its tasks.
+// Written with bulk statements only (ProjectTaskVersionRepository), never cached.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "project_task_versions")
+public class ProjectTaskVersion {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,28 +1,50 @@
 package com.hahn.backend.entities;
 
+import com.hahn.backend.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset pagination: WHERE project_id = ? ORDER BY due_date DESC, id DESC
+        @Index(name = "idx_tasks_project_due_id", columnList = "project_id, due_date, id"),
+        // status filter of the task list + the COMPLETED count of the project stats
+        @Index(name = "idx_tasks_project_status_due", columnList = "project_id, status, due_date"),
+        // Delta sync: WHERE project_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+        @Index(name = "idx_tasks_project_updated_id", columnList = "project_id, updated_at, id")
+})
+// + FULLTEXT index ft_tasks_title_description on (title, description), see db/migration (JPA can't declare it)
+// Second-level cache (when enabled): needed by the cached Project.tasks collection, which only holds ids
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TASK)
 public class Task {
 
+    // SEQUENCE (a table on MySQL) instead of IDENTITY: ids are known before the INSERT,
+    // so Hibernate can group inserts in JDBC batches. allocationSize = ids reserved per round trip
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
+    // LAZY through bytecode enhancement (see pom.xml): a loaded Task reads its TEXT column only if
+    // the description is used. The read paths don't load Tasks at all (TaskRepository.TASK_DTO)
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -32,6 +54,13 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status; // PENDING or COMPLETED or IN_PROGRESS
 
+    // Optimistic locking + ETag of the task (If-Match on PUT)
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     // Relationship: Many Tasks -> One Project
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
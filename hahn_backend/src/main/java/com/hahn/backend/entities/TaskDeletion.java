@@ -0,0 +1,35 @@
+package com.hahn.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Tombstone of a deleted task, for the delta-sync endpoint (GET /api/projects/{id}/tasks/changes).
+// Plain ids, no relations: the task (and maybe its project) no longer exist.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_deletions", indexes = {
+        @Index(name = "idx_task_deletions_project_deleted", columnList = "project_id, deleted_at")
+})
+public class TaskDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,40 @@
+package com.hahn.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One revoked JWT (jti: logout), or every token of a user issued up to revoked_at (subject: "revoke all").
+// Kept until expires_at, when the tokens it covers have expired anyway (see TokenRevocationService).
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "ux_token_revocations_jti", columnList = "jti", unique = true),
+        @Index(name = "idx_token_revocations_revoked", columnList = "revoked_at"),
+        @Index(name = "idx_token_revocations_expires", columnList = "expires_at")
+})
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    @Column(name = "subject")
+    private String subject;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
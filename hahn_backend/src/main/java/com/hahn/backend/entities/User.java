@@ -1,10 +1,13 @@
 package com.hahn.backend.entities;
 
+import com.hahn.backend.config.CacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -13,7 +16,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "users")
+// Unique index: every login/registration/authenticated request looks users up by email
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_email", columnList = "email", unique = true)
+})
+// Second-level cache (when enabled, see SecondLevelCacheConfig)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
 public class User  {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
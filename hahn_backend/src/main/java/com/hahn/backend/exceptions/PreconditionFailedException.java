@@ -0,0 +1,8 @@
+package com.hahn.backend.exceptions;
+
+// If-Match does not match the current version of the resource (someone else changed it)
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
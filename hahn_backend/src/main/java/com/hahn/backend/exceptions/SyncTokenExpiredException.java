@@ -0,0 +1,8 @@
+package com.hahn.backend.exceptions;
+
+// Sync token older than the tombstone retention: the client must drop its copy and sync from scratch
+public class SyncTokenExpiredException extends RuntimeException {
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
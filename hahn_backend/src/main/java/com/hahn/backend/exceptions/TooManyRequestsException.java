@@ -0,0 +1,16 @@
+package com.hahn.backend.exceptions;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    // sent back as the Retry-After header
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hahn.backend.repositories;
+
+import java.time.LocalDateTime;
+
+// Native statements on the projects table (ProjectRepository fragment, see ProjectDeletionStatementsImpl).
+// Native on purpose: JPQL would add the @SQLRestriction and miss projects already marked as deleted.
+public interface ProjectDeletionStatements {
+
+    // SET-BASED deletion (no entity is loaded, no cascade one row at a time)
+    int deleteRowById(Long projectId);
+
+    int markDeleted(Long projectId);
+
+    // 1 = the caller now owns the purge of this deleted project: nobody did, or the owner's lease expired
+    int claimPurge(Long projectId, String owner, LocalDateTime now, LocalDateTime staleBefore);
+
+    // 0 = the claim was lost (lease expired and taken over): stop purging
+    int renewPurgeClaim(Long projectId, String owner, LocalDateTime now);
+}
@@ -0,0 +1,66 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.entities.Project;
+import com.hahn.backend.entities.ProjectTaskVersion;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+
+// A native statement only tells Hibernate which tables it touches through its synchronized spaces.
+// Without them Hibernate must assume every table: the whole second-level cache and query cache were evicted.
+@RequiredArgsConstructor
+class ProjectDeletionStatementsImpl implements ProjectDeletionStatements {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int deleteRowById(Long projectId) {
+        // project_task_versions goes with it (ON DELETE CASCADE)
+        NativeQuery<?> query = entityManager.createNativeQuery("DELETE FROM projects WHERE id = :projectId")
+                .unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(Project.class)
+                .addSynchronizedEntityClass(ProjectTaskVersion.class)
+                .setParameter("projectId", projectId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int markDeleted(Long projectId) {
+        NativeQuery<?> query = entityManager
+                .createNativeQuery("UPDATE projects SET deleted_at = CURRENT_TIMESTAMP WHERE id = :projectId")
+                .unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(Project.class)
+                .setParameter("projectId", projectId)
+                .executeUpdate();
+    }
+
+    @Override
+    public int claimPurge(Long projectId, String owner, LocalDateTime now, LocalDateTime staleBefore) {
+        // atomic: of two instances running it at once, only one sees 1
+        NativeQuery<?> query = entityManager.createNativeQuery(
+                        "UPDATE projects SET purge_owner = :owner, purge_claimed_at = :now " +
+                                "WHERE id = :projectId AND deleted_at IS NOT NULL " +
+                                "AND (purge_owner IS NULL OR purge_claimed_at < :staleBefore)")
+                .unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(Project.class)
+                .setParameter("owner", owner)
+                .setParameter("now", now)
+                .setParameter("projectId", projectId)
+                .setParameter("staleBefore", staleBefore)
+                .executeUpdate();
+    }
+
+    @Override
+    public int renewPurgeClaim(Long projectId, String owner, LocalDateTime now) {
+        NativeQuery<?> query = entityManager.createNativeQuery(
+                        "UPDATE projects SET purge_claimed_at = :now WHERE id = :projectId AND purge_owner = :owner")
+                .unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(Project.class)
+                .setParameter("now", now)
+                .setParameter("projectId", projectId)
+                .setParameter("owner", owner)
+                .executeUpdate();
+    }
+}
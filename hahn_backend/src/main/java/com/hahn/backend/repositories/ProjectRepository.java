@@ -1,12 +1,64 @@
 package com.hahn.backend.repositories;
 
+import com.hahn.backend.config.CacheRegions;
+import com.hahn.backend.dto.projection.ProjectTaskStats;
+import com.hahn.backend.dto.projection.VersionStamp;
 import com.hahn.backend.entities.Project;
 import com.hahn.backend.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 import java.util.Optional;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectSummaryQueries,
+        ProjectDeletionStatements {
+    // Query cache (when enabled): invalidated by Hibernate on any write to the projects table
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PROJECTS_BY_USER)
+    })
     List<Project> findByUserId(Long userId);
     Optional<Project>  findProjectById(Long projectId);
-}
\ No newline at end of file
+
+    // Task counters of every project of a user in ONE query (replaces loading project.getTasks() per project)
+    @Query("SELECT p.id AS projectId, COUNT(t.id) AS totalTasks, " +
+            "COALESCE(SUM(CASE WHEN t.status = com.hahn.backend.entities.TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0) AS completedTasks " +
+            "FROM Project p LEFT JOIN p.tasks t " +
+            "WHERE p.user.id = :userId " +
+            "GROUP BY p.id")
+    List<ProjectTaskStats> findTaskStatsByUserId(@Param("userId") Long userId);
+
+    // Same for one project: its counters without its tasks (?include=stats)
+    @Query("SELECT p.id AS projectId, COUNT(t.id) AS totalTasks, " +
+            "COALESCE(SUM(CASE WHEN t.status = com.hahn.backend.entities.TaskStatus.COMPLETED THEN 1 ELSE 0 END), 0) AS completedTasks " +
+            "FROM Project p LEFT JOIN p.tasks t " +
+            "WHERE p.id = :projectId " +
+            "GROUP BY p.id")
+    Optional<ProjectTaskStats> findTaskStatsByProjectId(@Param("projectId") Long projectId);
+
+    // Ownership checks (see OwnershipService): ids only, no entity is hydrated
+    @Query("SELECT p.id FROM Project p WHERE p.user.email = :email")
+    List<Long> findIdsByUserEmail(@Param("email") String email);
+
+    boolean existsByIdAndUserEmail(Long id, String email);
+
+    // ETag fingerprints (see VersionStamp): aggregates only, answered from the rows without hydrating entities
+    @Query("SELECT COUNT(p.id) AS rowCount, COALESCE(SUM(p.id), 0) AS idSum, " +
+            "COALESCE(SUM(p.version), 0) AS versionSum, MAX(p.updatedAt) AS lastUpdated " +
+            "FROM Project p WHERE p.id = :projectId")
+    VersionStamp findVersionStampById(@Param("projectId") Long projectId);
+
+    @Query("SELECT COUNT(p.id) AS rowCount, COALESCE(SUM(p.id), 0) AS idSum, " +
+            "COALESCE(SUM(p.version), 0) AS versionSum, MAX(p.updatedAt) AS lastUpdated " +
+            "FROM Project p WHERE p.user.email = :email")
+    VersionStamp findVersionStampByUserEmail(@Param("email") String email);
+
+    // Purges interrupted by a restart
+    @Query(value = "SELECT id FROM projects WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    List<Long> findIdsPendingPurge();
+}
@@ -0,0 +1,17 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.dto.projection.ProjectSummary;
+
+import java.util.List;
+import java.util.Optional;
+
+// Project columns without hydrating the entity (ProjectRepository fragment, see ProjectSummaryQueriesImpl).
+// withDescription = false is for a ?fields= that leaves it out: the TEXT column is not read, getDescription() is null
+public interface ProjectSummaryQueries {
+
+    // Project detail: the columns only, the tasks come from TaskRepository.findDtosByProjectId
+    Optional<ProjectSummary> findSummaryById(Long projectId, boolean withDescription);
+
+    // The project list, in creation order (idx_projects_user_created)
+    List<ProjectSummary> findSummariesByUserId(Long userId, boolean withDescription);
+}
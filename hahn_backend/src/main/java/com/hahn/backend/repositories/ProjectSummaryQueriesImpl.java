@@ -0,0 +1,41 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.dto.projection.ProjectSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+
+// Each query written once: only the SELECT list depends on withDescription
+@RequiredArgsConstructor
+class ProjectSummaryQueriesImpl implements ProjectSummaryQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<ProjectSummary> findSummaryById(Long projectId, boolean withDescription) {
+        return entityManager.createQuery(
+                        "SELECT " + summary(withDescription) + " FROM Project p WHERE p.id = :projectId", Tuple.class)
+                .setParameter("projectId", projectId)
+                .getResultList().stream()
+                .findFirst()
+                .map(tuple -> TupleProjections.project(ProjectSummary.class, tuple));
+    }
+
+    @Override
+    public List<ProjectSummary> findSummariesByUserId(Long userId, boolean withDescription) {
+        return entityManager.createQuery("SELECT " + summary(withDescription) +
+                        " FROM Project p WHERE p.user.id = :userId ORDER BY p.createdAt", Tuple.class)
+                .setParameter("userId", userId)
+                .getResultList().stream()
+                .map(tuple -> TupleProjections.project(ProjectSummary.class, tuple))
+                .toList();
+    }
+
+    private static String summary(boolean withDescription) {
+        return "p.id AS id, p.title AS title, " + (withDescription ? "p.description AS description, " : "") +
+                "p.createdAt AS createdAt, p.version AS version";
+    }
+}
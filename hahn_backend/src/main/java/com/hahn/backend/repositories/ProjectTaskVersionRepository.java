@@ -0,0 +1,36 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.dto.projection.VersionStamp;
+import com.hahn.backend.entities.ProjectTaskVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ProjectTaskVersionRepository extends JpaRepository<ProjectTaskVersion, Long> {
+
+    // With the project (ProjectServiceImpl.createProject): every project has its row
+    @Modifying
+    @Query("INSERT INTO ProjectTaskVersion (projectId, version, updatedAt) VALUES (:projectId, 0, :now)")
+    int create(@Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    // Every task write, in its transaction. One UPDATE by primary key per project, whatever the number of tasks
+    @Modifying
+    @Query("UPDATE ProjectTaskVersion v SET v.version = v.version + 1, v.updatedAt = :now WHERE v.projectId IN :projectIds")
+    int touch(@Param("projectIds") Collection<Long> projectIds, @Param("now") LocalDateTime now);
+
+    // ETag fingerprints (see VersionStamp) of the tasks of a project / of all the projects of a user:
+    // one primary key lookup, one row per project
+    @Query("SELECT COUNT(v.projectId) AS rowCount, COALESCE(SUM(v.projectId), 0) AS idSum, " +
+            "COALESCE(SUM(v.version), 0) AS versionSum, MAX(v.updatedAt) AS lastUpdated " +
+            "FROM ProjectTaskVersion v WHERE v.projectId = :projectId")
+    VersionStamp findVersionStampByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT COUNT(v.projectId) AS rowCount, COALESCE(SUM(v.projectId), 0) AS idSum, " +
+            "COALESCE(SUM(v.version), 0) AS versionSum, MAX(v.updatedAt) AS lastUpdated " +
+            "FROM ProjectTaskVersion v WHERE v.projectId IN (SELECT p.id FROM Project p WHERE p.user.email = :email)")
+    VersionStamp findVersionStampByUserEmail(@Param("email") String email);
+}
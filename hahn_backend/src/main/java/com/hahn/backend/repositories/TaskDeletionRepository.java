@@ -0,0 +1,33 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.entities.TaskDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskDeletionRepository extends JpaRepository<TaskDeletion, Long> {
+
+    // One INSERT ... SELECT for all the tasks, to run just BEFORE they are deleted
+    @Modifying
+    @Query("INSERT INTO TaskDeletion (taskId, projectId, deletedAt) " +
+            "SELECT t.id, t.project.id, :deletedAt FROM Task t WHERE t.id IN :taskIds")
+    int logDeletions(@Param("taskIds") Collection<Long> taskIds, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // (since, until]: range scan on idx_task_deletions_project_deleted
+    @Query("SELECT d.taskId FROM TaskDeletion d WHERE d.projectId = :projectId " +
+            "AND d.deletedAt > :since AND d.deletedAt <= :until")
+    List<Long> findDeletedTaskIds(
+            @Param("projectId") Long projectId,
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until
+    );
+
+    @Modifying
+    @Query("DELETE FROM TaskDeletion d WHERE d.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
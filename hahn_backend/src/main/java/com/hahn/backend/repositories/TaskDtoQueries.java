@@ -0,0 +1,39 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.dto.projection.TaskRow;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.entities.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// The task list queries (TaskRepository fragment, see TaskDtoQueriesImpl). withDescription = false is for a ?fields=
+// that leaves the description out: the TEXT column is not even read, the DTOs carry a null description.
+public interface TaskDtoQueries {
+
+    List<TaskDto> findDtosByProjectId(Long projectId, boolean withDescription);
+
+    // Pagination/Search, sorted by the Pageable
+    Page<TaskDto> findByProjectIdAndFilters(Long projectId, String title, TaskStatus status, Pageable pageable,
+                                            boolean withDescription);
+
+    // FULL-TEXT search (MySQL FULLTEXT index ft_tasks_title_description), best matches first.
+    // query is a BOOLEAN MODE expression built by FullTextSearch, status is the enum name or null
+    Page<TaskRow> searchByProjectId(Long projectId, String query, String status, Pageable pageable,
+                                    boolean withDescription);
+
+    // KEYSET pagination on (dueDate DESC, id DESC), served by idx_tasks_project_due_id.
+    // Slice = no COUNT(*) query. MySQL sorts NULL dueDates last in DESC order, they form the "tail".
+    Slice<TaskDto> findFirstKeysetPage(Long projectId, String title, TaskStatus status, Pageable pageable,
+                                       boolean withDescription);
+
+    Slice<TaskDto> findKeysetPageAfter(Long projectId, String title, TaskStatus status, LocalDate dueDate, Long id,
+                                       Pageable pageable, boolean withDescription);
+
+    // Cursor already inside the NULL dueDate tail: only the id decides
+    Slice<TaskDto> findKeysetPageInNullTail(Long projectId, String title, TaskStatus status, Long id,
+                                            Pageable pageable, boolean withDescription);
+}
@@ -0,0 +1,132 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.dto.projection.TaskRow;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.entities.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.hahn.backend.repositories.TaskRepository.FILTERS;
+import static com.hahn.backend.repositories.TaskRepository.TASK_DTO;
+import static com.hahn.backend.repositories.TaskRepository.TASK_DTO_WITHOUT_DESCRIPTION;
+
+// Each query is written once, from the pieces of TaskRepository (TASK_DTO, FILTERS): only the SELECT list
+// depends on withDescription. Paging as Spring Data does it for a @Query: COUNT only when the page needs it,
+// one extra row to tell whether a Slice has a next one.
+@RequiredArgsConstructor
+class TaskDtoQueriesImpl implements TaskDtoQueries {
+
+    private static final String KEYSET_ORDER = "ORDER BY t.dueDate DESC, t.id DESC";
+
+    // Native: JPQL has no MATCH ... AGAINST. MATCH() reads the FULLTEXT index, not the description column
+    private static final String SEARCH_FROM = " FROM tasks t WHERE t.project_id = :projectId " +
+            "AND MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE) " +
+            "AND (:status IS NULL OR t.status = :status)";
+    private static final String SEARCH_ORDER =
+            " ORDER BY MATCH(t.title, t.description) AGAINST (:query IN BOOLEAN MODE) DESC, t.due_date DESC";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TaskDto> findDtosByProjectId(Long projectId, boolean withDescription) {
+        return entityManager.createQuery(
+                        "SELECT " + taskDto(withDescription) + " FROM Task t WHERE t.project.id = :projectId", TaskDto.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+    }
+
+    @Override
+    public Page<TaskDto> findByProjectIdAndFilters(Long projectId, String title, TaskStatus status, Pageable pageable,
+                                                   boolean withDescription) {
+        String jpql = QueryUtils.applySorting("SELECT " + taskDto(withDescription) + FILTERS, pageable.getSort(), "t");
+        TypedQuery<TaskDto> query = filtered(entityManager.createQuery(jpql, TaskDto.class), projectId, title, status);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () ->
+                filtered(entityManager.createQuery("SELECT COUNT(t)" + FILTERS, Long.class), projectId, title, status)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<TaskRow> searchByProjectId(Long projectId, String query, String status, Pageable pageable,
+                                           boolean withDescription) {
+        Query rows = entityManager.createNativeQuery(
+                "SELECT " + searchColumns(withDescription) + SEARCH_FROM + SEARCH_ORDER, Tuple.class);
+        searched(rows, projectId, query, status);
+        rows.setFirstResult((int) pageable.getOffset());
+        rows.setMaxResults(pageable.getPageSize());
+        @SuppressWarnings("unchecked")
+        List<Tuple> tuples = rows.getResultList();
+
+        return PageableExecutionUtils.getPage(
+                tuples.stream().map(tuple -> TupleProjections.project(TaskRow.class, tuple)).toList(), pageable, () ->
+                        ((Number) searched(entityManager.createNativeQuery("SELECT COUNT(*)" + SEARCH_FROM),
+                                projectId, query, status).getSingleResult()).longValue());
+    }
+
+    @Override
+    public Slice<TaskDto> findFirstKeysetPage(Long projectId, String title, TaskStatus status, Pageable pageable,
+                                              boolean withDescription) {
+        return slice(filtered(entityManager.createQuery(
+                "SELECT " + taskDto(withDescription) + FILTERS + KEYSET_ORDER, TaskDto.class), projectId, title, status), pageable);
+    }
+
+    @Override
+    public Slice<TaskDto> findKeysetPageAfter(Long projectId, String title, TaskStatus status, LocalDate dueDate, Long id,
+                                              Pageable pageable, boolean withDescription) {
+        TypedQuery<TaskDto> query = filtered(entityManager.createQuery("SELECT " + taskDto(withDescription) + FILTERS +
+                "AND (t.dueDate < :dueDate OR (t.dueDate = :dueDate AND t.id < :id) OR t.dueDate IS NULL) " +
+                KEYSET_ORDER, TaskDto.class), projectId, title, status);
+        return slice(query.setParameter("dueDate", dueDate).setParameter("id", id), pageable);
+    }
+
+    @Override
+    public Slice<TaskDto> findKeysetPageInNullTail(Long projectId, String title, TaskStatus status, Long id,
+                                                   Pageable pageable, boolean withDescription) {
+        TypedQuery<TaskDto> query = filtered(entityManager.createQuery("SELECT " + taskDto(withDescription) + FILTERS +
+                "AND t.dueDate IS NULL AND t.id < :id ORDER BY t.id DESC", TaskDto.class), projectId, title, status);
+        return slice(query.setParameter("id", id), pageable);
+    }
+
+    private static String taskDto(boolean withDescription) {
+        return withDescription ? TASK_DTO : TASK_DTO_WITHOUT_DESCRIPTION;
+    }
+
+    private static String searchColumns(boolean withDescription) {
+        return "t.id AS id, t.title AS title, " + (withDescription ? "t.description AS description, " : "") +
+                "t.due_date AS dueDate, t.status AS status, t.project_id AS projectId, t.version AS version";
+    }
+
+    private static <T> TypedQuery<T> filtered(TypedQuery<T> query, Long projectId, String title, TaskStatus status) {
+        return query.setParameter("projectId", projectId)
+                .setParameter("title", title)
+                .setParameter("status", status);
+    }
+
+    private static Query searched(Query query, Long projectId, String fullTextQuery, String status) {
+        return query.setParameter("projectId", projectId)
+                .setParameter("query", fullTextQuery)
+                .setParameter("status", status);
+    }
+
+    private static <T> Slice<T> slice(TypedQuery<T> query, Pageable pageable) {
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<T> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
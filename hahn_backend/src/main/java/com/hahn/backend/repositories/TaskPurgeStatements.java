@@ -0,0 +1,8 @@
+package com.hahn.backend.repositories;
+
+// Native statements of the background purge (TaskRepository fragment, see TaskPurgeStatementsImpl)
+public interface TaskPurgeStatements {
+
+    // One chunk of the background purge (MySQL DELETE ... LIMIT): keeps each transaction and its locks short
+    int deleteChunkByProjectId(Long projectId, int limit);
+}
@@ -0,0 +1,24 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.entities.Task;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+
+// Synchronized on Task only: the chunks evict the task regions (and Project.tasks), not the whole cache
+@RequiredArgsConstructor
+class TaskPurgeStatementsImpl implements TaskPurgeStatements {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public int deleteChunkByProjectId(Long projectId, int limit) {
+        NativeQuery<?> query = entityManager
+                .createNativeQuery("DELETE FROM tasks WHERE project_id = :projectId LIMIT :limit")
+                .unwrap(NativeQuery.class);
+        return query.addSynchronizedEntityClass(Task.class)
+                .setParameter("projectId", projectId)
+                .setParameter("limit", limit)
+                .executeUpdate();
+    }
+}
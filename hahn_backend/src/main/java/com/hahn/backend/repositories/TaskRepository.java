@@ -1,26 +1,84 @@
 package com.hahn.backend.repositories;
 
+import com.hahn.backend.dto.projection.TaskProjectRef;
+import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.entities.Task;
-import com.hahn.backend.entities.TaskStatus;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task>  findByProjectId(Long projectId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskDtoQueries, TaskPurgeStatements {
 
-    // METHOD for Pagination/Search
+    // READ PATHS return TaskDto built by the query itself (JPQL constructor expression): no Task is hydrated,
+    // nothing enters the persistence context, no dirty-checking snapshot. t.project.id reads the FK, no join.
+    String TASK_DTO = "new com.hahn.backend.dto.response.TaskDto(" +
+            "t.id, t.title, t.description, t.dueDate, t.status, t.project.id, t.version)";
+
+    // Same without the description, for a ?fields= that leaves it out: the TEXT column is not even read
+    // (TaskDtoQueries, withDescription = false)
+    String TASK_DTO_WITHOUT_DESCRIPTION = "new com.hahn.backend.dto.response.TaskDto(" +
+            "t.id, t.title, t.dueDate, t.status, t.project.id, t.version)";
+
+    // The search box without the FULLTEXT index (see FullTextSearch): substring of the title or the description,
+    // like the index searches both
+    String FILTERS = " FROM Task t WHERE t.project.id = :projectId " +
+            "AND (:title IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%')) " +
+            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :title, '%'))) " +
+            "AND (:status IS NULL OR t.status = :status) ";
+
+    // Entities about to be mapped to TaskDto: description (LAZY) in the same SELECT, not one more per task
+    @EntityGraph(attributePaths = "description")
+    List<Task> findAllWithDescriptionByIdIn(Collection<Long> ids);
+
+    // EXPORT: rows are pulled from a server-side cursor one by one (MySQL Connector/J streams when fetchSize = Integer.MIN_VALUE).
+    // DTOs only, so the persistence context stays empty however big the export. Must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT " + TASK_DTO + " FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    Stream<TaskDto> streamByProjectId(@Param("projectId") Long projectId);
+
+    long countByProjectId(Long projectId);
+
+    // SET-BASED deletes used by ProjectServiceImpl.deleteProject: one statement, nothing loaded in memory
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    // Reads the FK column only (used by the ownership check)
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findProjectIdById(@Param("taskId") Long taskId);
+
+    // Same, for the batch endpoints: one query for the whole list of ids
+    @Query("SELECT t.id AS id, t.project.id AS projectId FROM Task t WHERE t.id IN :taskIds")
+    List<TaskProjectRef> findProjectRefsByIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    // DELTA SYNC: tasks created/updated after the (since, afterId) watermark and up to "until", oldest first.
+    // Entities (SyncToken needs updatedAt), with their description: the full task is sent
+    @EntityGraph(attributePaths = "description")
     @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
-            "AND (:title IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))) " +
-            "AND (:status IS NULL OR t.status = :status)")
-    Page<Task> findByProjectIdAndFilters(
+            "AND (t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :afterId)) " +
+            "AND t.updatedAt <= :until " +
+            "ORDER BY t.updatedAt, t.id")
+    Slice<Task> findChangedSince(
             @Param("projectId") Long projectId,
-            @Param("title") String title,
-            @Param("status") TaskStatus status,
+            @Param("since") LocalDateTime since,
+            @Param("afterId") Long afterId,
+            @Param("until") LocalDateTime until,
             Pageable pageable
     );
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.dto.projection.RevokedToken;
+import com.hahn.backend.entities.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // confirms a Bloom filter hit: lookup on ux_token_revocations_jti
+    boolean existsByJti(String jti);
+
+    // everything still in force (startup, rebuild after a prune)
+    @Query("SELECT r.jti AS jti, r.subject AS subject, r.revokedAt AS revokedAt " +
+            "FROM TokenRevocation r WHERE r.expiresAt > :now")
+    List<RevokedToken> findActive(@Param("now") LocalDateTime now);
+
+    // revocations of the other instances: range scan on idx_token_revocations_revoked
+    @Query("SELECT r.jti AS jti, r.subject AS subject, r.revokedAt AS revokedAt " +
+            "FROM TokenRevocation r WHERE r.revokedAt > :since AND r.expiresAt > :now")
+    List<RevokedToken> findActiveRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
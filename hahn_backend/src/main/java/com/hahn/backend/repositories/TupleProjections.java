@@ -0,0 +1,25 @@
+package com.hahn.backend.repositories;
+
+import jakarta.persistence.Tuple;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.util.Map;
+
+// Interface projections (ProjectSummary, TaskRow) over the Tuple rows of the fragments' queries, the way Spring Data
+// builds them for a @Query method: values converted to the getter's type, a column not selected reads as null.
+// Case-insensitive aliases: H2 upper-cases the labels of a native query.
+final class TupleProjections {
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private TupleProjections() {
+    }
+
+    static <T> T project(Class<T> type, Tuple tuple) {
+        Map<String, Object> columns = new LinkedCaseInsensitiveMap<>();
+        tuple.getElements().forEach(element -> columns.put(element.getAlias(), tuple.get(element)));
+        return PROJECTIONS.createProjection(type, columns);
+    }
+}
@@ -1,9 +1,18 @@
 package com.hahn.backend.repositories;
 
+import com.hahn.backend.config.CacheRegions;
 import com.hahn.backend.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Query cache (when enabled): invalidated by Hibernate on any write to the users table
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USER_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
 }
\ No newline at end of file
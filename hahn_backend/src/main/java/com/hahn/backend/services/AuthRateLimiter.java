@@ -0,0 +1,71 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.exceptions.TooManyRequestsException;
+import com.hahn.backend.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Admission control of /api/auth: rejects with a 429 before any BCrypt work is queued.
+// Per client IP (one host hammering the endpoint) and per email (credential stuffing spread over many IPs)
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.security.rate-limit.per-ip.capacity:30}")
+    private int perIpCapacity;
+
+    @Value("${application.security.rate-limit.per-ip.refill-seconds:2}")
+    private long perIpRefillSeconds;
+
+    @Value("${application.security.rate-limit.per-email.capacity:5}")
+    private int perEmailCapacity;
+
+    @Value("${application.security.rate-limit.per-email.refill-seconds:12}")
+    private long perEmailRefillSeconds;
+
+    @Value("${application.security.rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    private TokenBucketRateLimiter perIp;
+    private TokenBucketRateLimiter perEmail;
+    private Counter ipRejections;
+    private Counter emailRejections;
+
+    @PostConstruct
+    void init() {
+        perIp = new TokenBucketRateLimiter(perIpCapacity, Duration.ofSeconds(perIpRefillSeconds), maxKeys);
+        perEmail = new TokenBucketRateLimiter(perEmailCapacity, Duration.ofSeconds(perEmailRefillSeconds), maxKeys);
+        ipRejections = meterRegistry.counter("auth.rate_limit.rejected", "key", "ip");
+        emailRejections = meterRegistry.counter("auth.rate_limit.rejected", "key", "email");
+    }
+
+    public void checkLogin(String clientIp, String email) {
+        check(perIp, clientIp, ipRejections);
+        if (email != null) {
+            check(perEmail, email.trim().toLowerCase(Locale.ROOT), emailRejections);
+        }
+    }
+
+    public void checkRegister(String clientIp) {
+        check(perIp, clientIp, ipRejections);
+    }
+
+    private void check(TokenBucketRateLimiter limiter, String key, Counter rejections) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            rejections.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException("Too many attempts, retry in " + retryAfter + " s", retryAfter);
+        }
+    }
+}
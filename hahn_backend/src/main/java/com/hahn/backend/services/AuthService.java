@@ -10,4 +10,7 @@ public interface AuthService {
 
 
     AuthResponse login(LoginRequest request);
+
+    // Revokes the bearer token of the request; nothing to do for a missing, expired or invalid one
+    void logout(String authorizationHeader);
 }
\ No newline at end of file
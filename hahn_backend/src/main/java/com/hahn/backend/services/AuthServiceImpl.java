@@ -8,41 +8,54 @@ import com.hahn.backend.entities.User;
 import com.hahn.backend.exceptions.UserAlreadyExistsException;
 import com.hahn.backend.repositories.UserRepository;
 import com.hahn.backend.util.EntityMapper;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    private static final String EMAIL_CONSTRAINT = "ux_users_email";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EntityMapper mapper;
+    private final TokenRevocationService revocationService;
 
+    // No @Transactional on register/login: the BCrypt work (queued on the hashing pool) must not hold a DB connection,
+    // the repository calls run in their own short transactions
     @Override
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new UserAlreadyExistsException("User with email " + request.getEmail() + " already exists");
-        }
-
         User user = User.builder()
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .username(request.getUsername())
                 .build();
 
-        User savedUser = userRepository.save(user);
+        // No findByEmail pre-check: the unique index ux_users_email rejects duplicates,
+        // also when two registrations with the same email race each other
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateEmail(e)) {
+                throw e;
+            }
+            throw new UserAlreadyExistsException("User with email " + request.getEmail() + " already exists");
+        }
 
         String token = jwtService.generateToken(mapToUserDetails(user));
 
@@ -50,8 +63,20 @@ public class AuthServiceImpl implements AuthService {
         return new AuthResponse(token, mapper.toUserDto(savedUser));
     }
 
+    // Only ux_users_email is a "user already exists": any other violation (a NOT NULL column, a too long value...)
+    // is a bug and stays a 500. MySQL reports the key as "users.ux_users_email"
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).endsWith(EMAIL_CONSTRAINT);
+            }
+        }
+        // constraint name not extracted: the driver's message names the key
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(EMAIL_CONSTRAINT + "'");
+    }
+
     @Override
-    @Transactional
     public AuthResponse login(LoginRequest request) {
         //  AUTOMATICALLY throws BadCredentialsException if password is wrong
         authenticationManager.authenticate(
@@ -68,6 +93,18 @@ public class AuthServiceImpl implements AuthService {
         return new AuthResponse(token, mapper.toUserDto(user));
     }
 
+    @Override
+    public void logout(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return;
+        }
+        try {
+            revocationService.revoke(jwtService.verifyToken(authorizationHeader.substring(7)));
+        } catch (JwtException | IllegalArgumentException e) {
+            // expired or not ours: already unusable
+        }
+    }
+
     public UserDetails mapToUserDetails(User user) {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
@@ -0,0 +1,19 @@
+package com.hahn.backend.services;
+
+import java.util.function.Consumer;
+
+// Tells the other instances that a cache entry is stale (e.g. ProjectListCache after a write).
+// InJvmCacheInvalidationBroadcaster (the default, CacheInvalidationConfig) only reaches this JVM: enough for
+// a single instance and for tests. Several instances need an implementation over a shared channel
+// (Redis pub/sub, a message broker...): declare it as a bean and it replaces the default.
+public interface CacheInvalidationBroadcaster {
+
+    // origin: id of the sending instance, so it can ignore its own message
+    record Invalidation(String cache, String key, String origin) {
+    }
+
+    // called once the change is committed
+    void broadcast(Invalidation invalidation);
+
+    void subscribe(Consumer<Invalidation> listener);
+}
@@ -0,0 +1,21 @@
+package com.hahn.backend.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Delivers each invalidation synchronously to every listener of this JVM (the sender included)
+public class InJvmCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster {
+
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void broadcast(Invalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -1,18 +1,29 @@
 package com.hahn.backend.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
@@ -25,8 +36,60 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    // max number of verified tokens kept in memory (0 disables the cache)
+    @Value("${application.security.jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    // iat only has a 1 s precision: the exact issue time, so that a "revoke all" (TokenRevocationService)
+    // doesn't also revoke the tokens issued in the rest of its second, e.g. the login that follows it
+    static final String ISSUED_AT_MILLIS = "iat_ms";
+
+    // Built once at startup: decoding the secret and building the parser on every call was a hot spot
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // token hash -> already verified claims, each entry dies when its token expires
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+
+    // Result of ONE parse: everything the filter needs (subject + expiry, token id + issue time for revocation)
+    public record VerifiedToken(String username, Date expiration, String id, Date issuedAt) {
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<ByteBuffer, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+                        long millisLeft = value.expiration() == null
+                                ? jwtExpiration
+                                : value.expiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verifyToken(token).username();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -34,43 +97,69 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verifies the signature and returns subject + expiry in a single parse.
+     * Tokens seen recently are served from the cache and skip HMAC verification.
+     * Throws the usual jjwt exceptions (ExpiredJwtException, ...) for bad tokens.
+     */
+    public VerifiedToken verifyToken(String token) {
+        ByteBuffer key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(),
+                claims.getId(), issuedAt(claims));
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration)) // 24 hours
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setId(UUID.randomUUID().toString()) // jti: what logout revokes, see TokenRevocationService
+                .setIssuedAt(new Date(now))
+                .claim(ISSUED_AT_MILLIS, now)
+                .setExpiration(new Date(now + jwtExpiration)) // 24 hours
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    // Tokens issued before ISSUED_AT_MILLIS existed: iat, rounded down to the second
+    private static Date issuedAt(Claims claims) {
+        Number millis = claims.get(ISSUED_AT_MILLIS, Number.class);
+        return millis != null ? new Date(millis.longValue()) : claims.getIssuedAt();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(verifyToken(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.username().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // SHA-256 of the raw token: we never keep the bearer token itself in memory
+    private static ByteBuffer hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.hahn.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hahn.backend.dto.projection.TaskProjectRef;
+import com.hahn.backend.exceptions.AccessDeniedException;
+import com.hahn.backend.exceptions.ResourceNotFoundException;
+import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// SECURITY: single place for "does this user own X" checks.
+// Works on ids only, so the Project -> User graph is never loaded just to compare emails.
+@Service
+@RequiredArgsConstructor
+public class OwnershipService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+
+    @Value("${application.security.ownership-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${application.security.ownership-cache.max-size:10000}")
+    private long maxSize;
+
+    // email -> ids of the projects this user owns (positive cache only, a miss always asks the DB)
+    private Cache<String, Set<Long>> ownedProjects;
+
+    @PostConstruct
+    void init() {
+        ownedProjects = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public void checkProjectOwner(Long projectId, String userEmail, String deniedMessage) {
+        // getIfPresent + put rather than get(key, loader): no JDBC call under a cache lock (virtual-thread pinning)
+        Set<Long> owned = ownedProjects.getIfPresent(userEmail);
+        if (owned == null) {
+            owned = Set.copyOf(projectRepository.findIdsByUserEmail(userEmail));
+            ownedProjects.put(userEmail, owned);
+        }
+        if (owned.contains(projectId)) {
+            return;
+        }
+
+        // Not in the (maybe stale) cached set: ask the DB before refusing
+        if (projectRepository.existsByIdAndUserEmail(projectId, userEmail)) {
+            ownedProjects.invalidate(userEmail);
+            return;
+        }
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        throw new AccessDeniedException(deniedMessage);
+    }
+
+    // Returns the project id of the task so callers don't need to load it again
+    public Long checkTaskOwner(Long taskId, String userEmail, String deniedMessage) {
+        Long projectId = taskRepository.findProjectIdById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+
+        checkProjectOwner(projectId, userEmail, deniedMessage);
+        return projectId;
+    }
+
+    // Batch version: ONE query for all the tasks, then one check per distinct project (usually just one).
+    // Returns the task -> project refs so callers don't need to load them again
+    public List<TaskProjectRef> checkTasksOwner(Collection<Long> taskIds, String userEmail, String deniedMessage) {
+        List<TaskProjectRef> refs = taskRepository.findProjectRefsByIdIn(taskIds);
+
+        Set<Long> found = refs.stream().map(TaskProjectRef::getId).collect(Collectors.toSet());
+        Set<Long> missing = new HashSet<>(taskIds);
+        missing.removeAll(found);
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with id: " + missing.iterator().next());
+        }
+
+        refs.stream()
+                .map(TaskProjectRef::getProjectId)
+                .distinct()
+                .forEach(projectId -> checkProjectOwner(projectId, userEmail, deniedMessage));
+        return refs;
+    }
+
+    // Call after a project is created or deleted for this user
+    public void evict(String userEmail) {
+        ownedProjects.invalidate(userEmail);
+    }
+}
@@ -0,0 +1,259 @@
+package com.hahn.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.dto.event.ProjectEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// SSE fan-out of ProjectEvents (GET /api/projects/{id}/events).
+// An idle subscriber is just an async request + an empty queue: no thread is held (Servlet async).
+// Publishing only enqueues; a subscriber takes a sender thread only while its queue is being written out,
+// and never more than one. If it falls behind by more than bufferSize events it is disconnected:
+// the client reconnects and catches up with the delta-sync endpoint.
+// The sender pool is the broker's own, bounded: stalled clients can't take the threads of @Async work
+// (ProjectPurgeWorker), and a send blocked for more than sendTimeoutMs disconnects its subscriber.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectEventBroker {
+
+    private static final Message HEARTBEAT = new Message(null, "heartbeat");
+    private static final Message CLOSE = new Message(null, null);
+
+    private final OwnershipService ownershipService;
+    private final ObjectMapper objectMapper;
+
+    // the client reconnects after that (EventSource does it by itself)
+    @Value("${application.events.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    // max events waiting for one subscriber before it is considered too slow
+    @Value("${application.events.buffer-size:256}")
+    private int bufferSize = 256;
+
+    // threads writing the queues out (SseEmitter.send blocks while the client doesn't read)
+    @Value("${application.events.sender-threads:8}")
+    private int senderThreads = 8;
+
+    // drains waiting for a sender thread; one more disconnects its subscriber
+    @Value("${application.events.sender-queue-capacity:10000}")
+    private int senderQueueCapacity = 10_000;
+
+    // checked with the heartbeat. The blocked thread itself is freed by the container's write timeout
+    @Value("${application.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs = 10_000;
+
+    private final Map<Long, Set<Subscriber>> subscribersByProject = new ConcurrentHashMap<>();
+
+    // Not a bean: an Executor bean would replace Spring Boot's applicationTaskExecutor
+    private Executor sender;
+
+    @PostConstruct
+    void init() {
+        // Platform threads, also with the virtual-threads profile: the pool size is the bound
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senderThreads);
+        executor.setMaxPoolSize(senderThreads);
+        executor.setQueueCapacity(senderQueueCapacity);
+        executor.setThreadNamePrefix("sse-sender-");
+        executor.initialize();
+        sender = executor;
+    }
+
+    public SseEmitter subscribe(Long projectId, String userEmail) {
+        ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to follow this project");
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        // add inside compute(): a concurrent remove() can't drop the set we are adding to
+        subscribersByProject.compute(projectId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // first bytes right away, so proxies forward the response headers
+        subscriber.offer(new Message(null, "connected"));
+        return emitter;
+    }
+
+    // Only committed changes are pushed (events of a rolled back transaction are dropped)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(ProjectEvent event) {
+        Set<Subscriber> subscribers = subscribersByProject.get(event.projectId());
+        if (subscribers == null) {
+            return;
+        }
+
+        // serialized once for every subscriber
+        Message message;
+        try {
+            message = new Message(event.type().name(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {}", event, e);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+            if (event.type() == ProjectEvent.Type.PROJECT_DELETED) {
+                subscriber.offer(CLOSE);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies (nginx closes after 60s without data),
+    // and disconnects the subscribers whose send has been blocked for too long
+    @Scheduled(fixedDelayString = "${application.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        subscribersByProject.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.isSendBlocked(now)) {
+                log.debug("SSE send to a subscriber of project {} timed out, disconnecting it", subscriber.projectId);
+                subscriber.disconnect(new TimeoutException("SSE send blocked for more than " + sendTimeoutMs + " ms"));
+            } else if (subscriber.isIdle()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }));
+    }
+
+    public int subscriberCount() {
+        return subscribersByProject.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscribersByProject.values().forEach(subscribers -> subscribers.forEach(s -> s.emitter.complete()));
+        subscribersByProject.clear();
+        if (sender instanceof ThreadPoolTaskExecutor executor) {
+            executor.shutdown();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByProject.computeIfPresent(subscriber.projectId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    // name = SSE event name, null for a comment line (heartbeat)
+    private record Message(String name, String data) {
+    }
+
+    private final class Subscriber {
+
+        private static final long NOT_SENDING = Long.MIN_VALUE;
+
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final Queue<Message> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        // at most one thread writes to the emitter (SseEmitter.send is not thread-safe)
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the send in progress started
+        private volatile long sendStartedAt = NOT_SENDING;
+
+        private Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        boolean isIdle() {
+            return queued.get() == 0;
+        }
+
+        boolean isSendBlocked(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != NOT_SENDING && now - startedAt > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        }
+
+        // completeWithError() doesn't wait for the blocked send (no lock), it ends the async request
+        void disconnect(Throwable reason) {
+            remove(this);
+            emitter.completeWithError(reason);
+        }
+
+        void offer(Message message) {
+            if (queued.incrementAndGet() > bufferSize) {
+                log.debug("SSE subscriber of project {} is too slow, disconnecting it", projectId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(message);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // every sender thread busy and the backlog full
+                    draining.set(false);
+                    log.debug("No SSE sender for a subscriber of project {}, disconnecting it", projectId);
+                    remove(this);
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    if (message == CLOSE) {
+                        remove(this);
+                        emitter.complete();
+                        return;
+                    }
+                    sendStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(message.name() == null
+                                ? SseEmitter.event().comment(message.data())
+                                : SseEmitter.event().name(message.name()).data(message.data()));
+                    } finally {
+                        sendStartedAt = NOT_SENDING;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client gone (or emitter already completed)
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // a message added between the last poll() and draining.set(false)
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.hahn.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hahn.backend.config.PrimaryReads;
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.util.ResourceVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// email -> the GET /api/projects response, already serialized (JSON bytes + ETag): a hit runs no query and no Jackson.
+// Kept exact by invalidation, not by expiry: every write that changes what the list shows calls evict(email)
+// (ProjectServiceImpl, TaskServiceImpl), and the other instances get it through the CacheInvalidationBroadcaster.
+// Bounded by bytes (Caffeine's W-TinyLFU eviction); the TTL is only a safety net.
+// Loads read from the primary (PrimaryReads), even with read replicas: a lagging replica would put the list from
+// before the last write back in the cache, and the cache keeps it until the next write.
+// Meters: cache.gets{cache=projectList, result=hit|miss}, cache.size, cache.evictions... (CaffeineCacheMetrics)
+@Service
+@RequiredArgsConstructor
+public class ProjectListCache {
+
+    static final String NAME = "projectList";
+    // key, ETag and object headers, roughly
+    private static final int ENTRY_OVERHEAD = 200;
+    private static final int GENERATION_STRIPES = 1024;
+
+    public record Entry(String eTag, long lastModifiedMillis, byte[] json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final MeterRegistry meterRegistry;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    // bumped by every eviction (per stripe of emails): a load that started before does not put its result
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @Value("${application.cache.project-list.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${application.cache.project-list.max-bytes:33554432}")
+    private long maxBytes = 32 * 1024 * 1024;
+
+    @Value("${application.cache.project-list.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    private Cache<String, Entry> lists;
+
+    @PostConstruct
+    void init() {
+        lists = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String email, Entry entry) -> entry.json().length + ENTRY_OVERHEAD)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, NAME);
+        broadcaster.subscribe(this::onInvalidation);
+    }
+
+    // version is read BEFORE the list: at worst the ETag is older than the body, never newer
+    public Entry get(String userEmail, Supplier<ResourceVersion> version, Supplier<List<ProjectDto>> projects) {
+        if (!enabled) {
+            return load(version, projects);
+        }
+        // getIfPresent + put rather than get(key, loader): no JDBC call under a cache lock (virtual-thread pinning)
+        Entry cached = lists.getIfPresent(userEmail);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(userEmail);
+        long generation = generations.get(stripe);
+        Entry loaded = load(version, projects);
+        if (generations.get(stripe) == generation) {
+            lists.put(userEmail, loaded);
+            // evicted between the check and the put
+            if (generations.get(stripe) != generation) {
+                lists.asMap().remove(userEmail, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // Call this from every write that changes the list of this user (projects, task counters)
+    public void evict(String userEmail) {
+        invalidate(userEmail);
+
+        // Again once committed (a request running in between may have cached the old list), and on the other instances
+        Runnable afterCommit = () -> {
+            invalidate(userEmail);
+            broadcaster.broadcast(new CacheInvalidationBroadcaster.Invalidation(NAME, userEmail, instanceId));
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                afterCommit.run();
+            }
+        });
+    }
+
+    private void onInvalidation(CacheInvalidationBroadcaster.Invalidation invalidation) {
+        if (NAME.equals(invalidation.cache()) && !instanceId.equals(invalidation.origin())) {
+            invalidate(invalidation.key());
+        }
+    }
+
+    private void invalidate(String userEmail) {
+        generations.incrementAndGet(stripe(userEmail));
+        lists.invalidate(userEmail);
+    }
+
+    private Entry load(Supplier<ResourceVersion> version, Supplier<List<ProjectDto>> projects) {
+        // the suppliers open their own (read-only) transactions, inside the pin
+        return PrimaryReads.call(() -> {
+            ResourceVersion current = version.get();
+            try {
+                return new Entry(current.eTag(), current.lastModifiedMillis(), objectMapper.writeValueAsBytes(projects.get()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize the project list", e);
+            }
+        });
+    }
+
+    private static int stripe(String userEmail) {
+        return Math.floorMod(userEmail.hashCode(), GENERATION_STRIPES);
+    }
+}
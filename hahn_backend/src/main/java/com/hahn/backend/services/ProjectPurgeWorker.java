@@ -0,0 +1,110 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+// Deletes the tasks of very large projects in chunks, off the request thread.
+// The project is already hidden (deleted_at set) when this runs, so users never see a half-deleted project.
+// With several instances, each purge is claimed first (projects.purge_owner): one instance purges a project,
+// the others skip it. The claim is a lease renewed at every chunk; a crashed owner's purge is taken over.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectPurgeWorker {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // rows deleted per transaction
+    @Value("${application.projects.purge.chunk-size:5000}")
+    private int chunkSize;
+
+    // a claim not renewed for this long is considered abandoned (its instance died)
+    @Value("${application.projects.purge.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds = 300;
+
+    // this instance, as written to purge_owner
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Async
+    public void purge(Long projectId) {
+        purgeIfClaimed(projectId);
+    }
+
+    // A restart in the middle of a purge leaves marked projects behind, and so does an instance that died:
+    // at startup, then periodically, take over the ones nobody is purging
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${application.projects.purge.resume-ms:300000}",
+            initialDelayString = "${application.projects.purge.resume-ms:300000}")
+    public void resumePendingPurges() {
+        projectRepository.findIdsPendingPurge().forEach(this::purgeIfClaimed);
+    }
+
+    private void purgeIfClaimed(Long projectId) {
+        LocalDateTime now = now();
+        Integer claimed = transactionTemplate.execute(status -> projectRepository.claimPurge(
+                projectId, instanceId, now, now.minusSeconds(claimTimeoutSeconds)));
+        if (claimed == null || claimed == 0) {
+            log.debug("Project {} is purged by another instance", projectId);
+            return;
+        }
+        purgeNow(projectId);
+    }
+
+    private void purgeNow(Long projectId) {
+        long total = 0;
+        int deleted;
+        do {
+            // each chunk is its own short transaction, with the lease renewed in it
+            Integer chunk = transactionTemplate.execute(status -> renewClaim(projectId)
+                    ? taskRepository.deleteChunkByProjectId(projectId, chunkSize)
+                    : -1);
+            if (chunk == null || chunk < 0) {
+                logLostClaim(projectId, total);
+                return;
+            }
+            deleted = chunk;
+            total += deleted;
+        } while (deleted > 0);
+
+        Boolean removed = transactionTemplate.execute(status -> {
+            if (!renewClaim(projectId)) {
+                return false;
+            }
+            projectRepository.deleteRowById(projectId);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(removed)) {
+            logLostClaim(projectId, total);
+            return;
+        }
+        log.info("Purged project {} ({} tasks)", projectId, total);
+    }
+
+    private void logLostClaim(Long projectId, long total) {
+        log.warn("Lost the purge of project {} to another instance after {} tasks", projectId, total);
+    }
+
+    private boolean renewClaim(Long projectId) {
+        return projectRepository.renewPurgeClaim(projectId, instanceId, now()) > 0;
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
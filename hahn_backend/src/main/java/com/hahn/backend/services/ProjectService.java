@@ -1,6 +1,9 @@
 package com.hahn.backend.services;
 
 import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.ResourceVersion;
+import com.hahn.backend.util.Versioned;
 
 import java.util.List;
 
@@ -9,13 +12,19 @@ public interface ProjectService  {
     // Create a project linked to the logged-in user
     ProjectDto createProject(ProjectDto request, String userEmail);
 
-    // Get all projects for the logged-in user (calculates progress %)
-    List<ProjectDto> getProjectsByUser(String userEmail);
+    // Get all projects for the logged-in user (calculates progress %), with the ?fields= / ?include= asked for
+    List<ProjectDto> getProjectsByUser(String userEmail, FieldSelection fields);
 
-    ProjectDto updateProject(Long id, ProjectDto projectDto, String userEmail) ;
+    // expectedVersion = version from If-Match (null = no check). The detail, with the ETag of GET /projects/{id}
+    Versioned<ProjectDto> updateProject(Long id, ProjectDto projectDto, Long expectedVersion, String userEmail) ;
 
     // Get details of a single project by id ...
-    ProjectDto getProjectById(Long id , String userEmail);
+    ProjectDto getProjectById(Long id , String userEmail, FieldSelection fields);
+
+    // ETag / Last-Modified of the GETs above, from one aggregate query (for 304 Not Modified)
+    ResourceVersion getProjectsVersion(String userEmail);
+
+    ResourceVersion getProjectVersion(Long id, String userEmail);
 
     public void deleteProject(Long id, String userEmail) ;
 }
@@ -1,18 +1,36 @@
 package com.hahn.backend.services;
 
+import com.hahn.backend.config.PrimaryReads;
+import com.hahn.backend.dto.event.ProjectEvent;
+import com.hahn.backend.dto.projection.ProjectSummary;
+import com.hahn.backend.dto.projection.ProjectTaskStats;
 import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.entities.Project;
 import com.hahn.backend.entities.User;
-import com.hahn.backend.exceptions.AccessDeniedException;
+import com.hahn.backend.exceptions.PreconditionFailedException;
 import com.hahn.backend.exceptions.ResourceNotFoundException;
 import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.ProjectTaskVersionRepository;
+import com.hahn.backend.repositories.TaskRepository;
 import com.hahn.backend.repositories.UserRepository;
 import com.hahn.backend.util.EntityMapper;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.ResourceVersion;
+import com.hahn.backend.util.Versioned;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,8 +38,21 @@ import java.util.stream.Collectors;
 public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    // the per-project task version the ETags are built from, bumped by every task write (TaskServiceImpl)
+    private final ProjectTaskVersionRepository projectTaskVersionRepository;
     private final UserRepository userRepository;
     private final EntityMapper mapper;
+    private final OwnershipService ownershipService;
+    private final ProjectPurgeWorker purgeWorker;
+    // serialized GET /api/projects responses, evicted by every write that changes the list
+    private final ProjectListCache projectListCache;
+    // ProjectEvents, pushed to the SSE subscribers after commit (ProjectEventBroker)
+    private final ApplicationEventPublisher eventPublisher;
+
+    // above this many tasks, deleteProject hides the project and lets ProjectPurgeWorker delete the tasks
+    @Value("${application.projects.purge.async-threshold:10000}")
+    private long asyncPurgeThreshold = 10000;
 
     @Override
     @Transactional
@@ -36,62 +67,141 @@ public class ProjectServiceImpl implements ProjectService {
                 .build();
 
         Project savedProject = projectRepository.save(project);
+        projectTaskVersionRepository.create(savedProject.getId(), LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        ownershipService.evict(userEmail);
+        projectListCache.evict(userEmail);
         return mapper.toProjectDto(savedProject);
     }
 
     @Override
     // Read-only transaction is faster
     @Transactional(readOnly = true)
-    public List<ProjectDto> getProjectsByUser(String userEmail) {
+    public List<ProjectDto> getProjectsByUser(String userEmail, FieldSelection fields) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
 
-        /// Note: we can optimize this query later to fetch User+Projects in one go using a JOIN
+        // One GROUP BY for the counters of all projects instead of loading every task (N+1)
+        Map<Long, ProjectTaskStats> statsByProject = fields.includesStats()
+                ? projectRepository.findTaskStatsByUserId(user.getId()).stream()
+                        .collect(Collectors.toMap(ProjectTaskStats::getProjectId, Function.identity()))
+                : Map.of();
+
+        // Projections: the descriptions (TEXT) are only read when asked for
+        List<ProjectSummary> projects = projectRepository.findSummariesByUserId(
+                user.getId(), fields.hasProjectField(FieldSelection.DESCRIPTION));
 
-        return projectRepository.findByUserId(user.getId()).stream()
-                .map(mapper::toProjectDto)
+        return projects.stream()
+                .map(project -> mapper.toProjectSummaryDto(project, statsByProject.get(project.getId())))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ProjectDto getProjectById(Long id, String userEmail) {
-        Project project = projectRepository.findById(id)
+    public ProjectDto getProjectById(Long id, String userEmail, FieldSelection fields) {
+        ownershipService.checkProjectOwner(id, userEmail, "You are not authorized to view this project");
+
+        return readProject(id, fields);
+    }
+
+    // Projections only: neither the project nor its tasks are hydrated as entities,
+    // and what ?fields= / ?include= leaves out is not queried at all
+    private ProjectDto readProject(Long id, FieldSelection fields) {
+        ProjectSummary project = projectRepository.findSummaryById(id, fields.hasProjectField(FieldSelection.DESCRIPTION))
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You are not authorized to view this project");
+        if (fields.includesTasks()) {
+            List<TaskDto> tasks = taskRepository.findDtosByProjectId(id, fields.hasTaskField(FieldSelection.DESCRIPTION));
+            // stats counted on the tasks already fetched
+            return mapper.toProjectDto(project, tasks);
         }
+        ProjectTaskStats stats = fields.includesStats()
+                ? projectRepository.findTaskStatsByProjectId(id).orElse(null)
+                : null;
+        return mapper.toProjectSummaryDto(project, stats);
+    }
 
-        return mapper.toProjectDto(project);
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProjectsVersion(String userEmail) {
+        // the list shows task counters too: a task change must change the ETag.
+        // From the primary, a replica's ETag may be older than the one the client already has
+        return PrimaryReads.call(() -> ResourceVersion.of(
+                projectRepository.findVersionStampByUserEmail(userEmail),
+                projectTaskVersionRepository.findVersionStampByUserEmail(userEmail)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getProjectVersion(Long id, String userEmail) {
+        return PrimaryReads.call(() -> {
+            ownershipService.checkProjectOwner(id, userEmail, "You are not authorized to view this project");
+
+            return ResourceVersion.ofEntity(
+                    projectRepository.findVersionStampById(id),
+                    projectTaskVersionRepository.findVersionStampByProjectId(id));
+        });
     }
 
     @Override
     @Transactional
-    public ProjectDto updateProject(Long id, ProjectDto projectDto, String userEmail) {
+    public Versioned<ProjectDto> updateProject(Long id, ProjectDto projectDto, Long expectedVersion, String userEmail) {
+        ownershipService.checkProjectOwner(id, userEmail, "You are not authorized to update this project");
+
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You are not authorized to update this project");
+        // If-Match: refuse to overwrite a version the client has not seen
+        // (a concurrent commit after this check is still caught by @Version at flush)
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project " + id + " was modified, reload it before saving");
         }
 
         if (projectDto.getTitle() != null) project.setTitle(projectDto.getTitle());
         if (projectDto.getDescription() != null) project.setDescription(projectDto.getDescription());
 
-        return mapper.toProjectDto(projectRepository.save(project));
+        // flushed now so the returned DTO carries the new version. Read back from projections: through
+        // the entity, each task would load its LAZY description with one more query
+        projectRepository.saveAndFlush(project);
+        // the ETag getProjectVersion gives this detail (version first, as for a GET), not just "v<version>":
+        // one representation, one tag, so the next conditional GET can get its 304
+        ResourceVersion version = ResourceVersion.ofEntity(
+                projectRepository.findVersionStampById(id),
+                projectTaskVersionRepository.findVersionStampByProjectId(id));
+        ProjectDto updated = readProject(id, FieldSelection.PROJECT_DETAIL);
+        projectListCache.evict(userEmail);
+        eventPublisher.publishEvent(ProjectEvent.ofProject(ProjectEvent.Type.PROJECT_UPDATED, id));
+        return new Versioned<>(updated, version);
     }
 
     @Override
     @Transactional
     public void deleteProject(Long id, String userEmail) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + id));
-
-        if (!project.getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You are not authorized to delete this project");
+        ownershipService.checkProjectOwner(id, userEmail, "You are not authorized to delete this project");
+
+        // Set-based: never load the project with its tasks (cascade = ALL would delete them one row at a time)
+        if (taskRepository.countByProjectId(id) > asyncPurgeThreshold) {
+            // Big project: hidden right now, tasks removed in chunks once this transaction is committed
+            projectRepository.markDeleted(id);
+            runAfterCommit(() -> purgeWorker.purge(id));
+        } else {
+            taskRepository.deleteAllByProjectId(id);
+            projectRepository.deleteRowById(id);
         }
+        ownershipService.evict(userEmail);
+        projectListCache.evict(userEmail);
+        eventPublisher.publishEvent(ProjectEvent.ofProject(ProjectEvent.Type.PROJECT_DELETED, id));
+    }
 
-        projectRepository.delete(project);
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
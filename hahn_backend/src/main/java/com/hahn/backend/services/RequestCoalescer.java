@@ -0,0 +1,92 @@
+package com.hahn.backend.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+// Single flight: concurrent identical reads (same operation + key, e.g. user, arguments and ETag) share ONE
+// computation. The first caller runs it on its own thread, the others wait for its result instead of running
+// the same queries and mapping again. Nothing is kept once it completes: this is not a cache.
+// Call it OUTSIDE the @Transactional service method, or every waiter holds a DB connection while it waits.
+// The result is shared between requests: it must not be modified afterwards.
+// Meters: request.coalescing (operation, role = leader | follower)
+@Component
+public class RequestCoalescer {
+
+    private record Key(String operation, List<Object> arguments) {
+    }
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.coalescing.enabled:true}")
+    private boolean enabled = true;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // arguments may contain nulls (optional filters)
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Supplier<T> loader, Object... arguments) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(operation, Arrays.asList(arguments));
+
+        // Fast path: a lock-free read of the map. putIfAbsent only for the first caller, and never with the
+        // loader inside (computeIfAbsent would run it under the bin lock and pin virtual threads)
+        CompletableFuture<Object> running = inFlight.get(key);
+        if (running == null) {
+            CompletableFuture<Object> mine = new CompletableFuture<>();
+            running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                counter(operation, "leader").increment();
+                return (T) lead(key, mine, loader);
+            }
+        }
+        counter(operation, "follower").increment();
+        return (T) follow(running);
+    }
+
+    private Object lead(Key key, CompletableFuture<Object> mine, Supplier<?> loader) {
+        try {
+            Object result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object follow(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // the leader's own exception (404, 403...), for GlobalExceptionHandler
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(String operation, String role) {
+        return meterRegistry.counter("request.coalescing", "operation", operation, "role", role);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.repositories.TaskDeletionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Tombstones are only needed by clients that synced within the retention period (older tokens get a 410)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskDeletionCleanup {
+
+    private final TaskDeletionRepository taskDeletionRepository;
+
+    @Value("${application.tasks.sync.tombstone-retention-days:30}")
+    private long retentionDays;
+
+    @Scheduled(cron = "${application.tasks.sync.tombstone-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void deleteExpiredTombstones() {
+        int deleted = taskDeletionRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Deleted {} task tombstones older than {} days", deleted, retentionDays);
+        }
+    }
+}
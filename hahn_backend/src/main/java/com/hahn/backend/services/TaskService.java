@@ -1,9 +1,16 @@
 package com.hahn.backend.services;
 
+import com.hahn.backend.dto.response.CursorPage;
+import com.hahn.backend.dto.response.TaskChanges;
 import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.entities.TaskStatus;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.ResourceVersion;
+import com.hahn.backend.util.TaskExportFormat;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TaskService {
@@ -14,9 +21,33 @@ public interface TaskService {
     //get the tasks linked to a given Project
     List<TaskDto> getTasksByProject(Long projectId, String userEmail);
 
-    Page<TaskDto> getTasksByProjectWithFilters(Long projectId, String search, TaskStatus status, int page, int size, String userEmail);
+    // "Export All Tasks": streams every task of the project to out, constant memory.
+    // No ownership check here: the caller has made it, before writing any header (see TaskController)
+    void exportTasks(Long projectId, TaskExportFormat format, OutputStream out) throws IOException;
 
-    TaskDto updateTask(Long taskId, TaskDto request, String userEmail);
+    // fields = ?fields= (an unrequested description is not read)
+    Page<TaskDto> getTasksByProjectWithFilters(Long projectId, String search, TaskStatus status, int page, int size,
+                                               FieldSelection fields, String userEmail);
+
+    // Keyset (cursor) variant: no OFFSET, no COUNT(*). cursor = null for the first page
+    CursorPage<TaskDto> getTasksByProjectAfterCursor(Long projectId, String search, TaskStatus status, String cursor, int size,
+                                                     FieldSelection fields, String userEmail);
+
+    // Delta sync: tasks changed + ids deleted since the token (null = first sync, every task)
+    TaskChanges getTaskChanges(Long projectId, String sinceToken, int limit, String userEmail);
+
+    // ETag / Last-Modified of the task lists of a project (for 304 Not Modified)
+    ResourceVersion getTasksVersion(Long projectId, String userEmail);
+
+    // expectedVersion = version from If-Match (null = no check)
+    TaskDto updateTask(Long taskId, TaskDto request, Long expectedVersion, String userEmail);
 
     void deleteTask(Long id, String userEmail);
+
+    // BATCH versions: one ownership check + one transaction for the whole list
+    List<TaskDto> createTasks(Long projectId, List<TaskDto> requests, String userEmail);
+
+    List<TaskDto> updateTasks(List<TaskDto> requests, String userEmail);
+
+    void deleteTasks(List<Long> taskIds, String userEmail);
 }
\ No newline at end of file
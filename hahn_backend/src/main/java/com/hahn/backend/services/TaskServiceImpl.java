@@ -1,24 +1,56 @@
     package com.hahn.backend.services;
 
+    import com.fasterxml.jackson.databind.ObjectMapper;
+    import com.hahn.backend.config.PrimaryReads;
+    import com.hahn.backend.dto.event.ProjectEvent;
+    import com.hahn.backend.dto.projection.TaskProjectRef;
+    import com.hahn.backend.dto.response.CursorPage;
+    import com.hahn.backend.dto.response.TaskChanges;
     import com.hahn.backend.dto.response.TaskDto;
     import com.hahn.backend.entities.Project;
     import com.hahn.backend.entities.Task;
     import com.hahn.backend.entities.TaskStatus;
-    import com.hahn.backend.exceptions.AccessDeniedException;
+    import com.hahn.backend.exceptions.BadRequestException;
+    import com.hahn.backend.exceptions.PreconditionFailedException;
     import com.hahn.backend.exceptions.ResourceNotFoundException;
+    import com.hahn.backend.exceptions.SyncTokenExpiredException;
     import com.hahn.backend.repositories.ProjectRepository;
+    import com.hahn.backend.repositories.ProjectTaskVersionRepository;
+    import com.hahn.backend.repositories.TaskDeletionRepository;
     import com.hahn.backend.repositories.TaskRepository;
     import com.hahn.backend.util.EntityMapper;
+    import com.hahn.backend.util.FieldSelection;
+    import com.hahn.backend.util.FullTextSearch;
+    import com.hahn.backend.util.ResourceVersion;
+    import com.hahn.backend.util.SyncToken;
+    import com.hahn.backend.util.TaskCursor;
+    import com.hahn.backend.util.TaskExportFormat;
+    import com.hahn.backend.util.TaskExportWriter;
+    import jakarta.persistence.EntityManager;
     import lombok.RequiredArgsConstructor;
+    import org.springframework.beans.factory.annotation.Value;
+    import org.springframework.context.ApplicationEventPublisher;
     import org.springframework.data.domain.Page;
     import org.springframework.data.domain.PageRequest;
     import org.springframework.data.domain.Pageable;
+    import org.springframework.data.domain.Slice;
     import org.springframework.data.domain.Sort;
     import org.springframework.stereotype.Service;
     import org.springframework.transaction.annotation.Transactional;
 
+    import java.io.IOException;
+    import java.io.OutputStream;
+    import java.time.Duration;
+    import java.time.LocalDateTime;
+    import java.time.temporal.ChronoUnit;
+    import java.util.ArrayList;
+    import java.util.Collection;
+    import java.util.Iterator;
     import java.util.List;
+    import java.util.Map;
+    import java.util.function.Function;
     import java.util.stream.Collectors;
+    import java.util.stream.Stream;
 
     @Service
     @RequiredArgsConstructor
@@ -26,18 +58,49 @@
 
         private final TaskRepository taskRepository;
         private final ProjectRepository projectRepository;
+        private final TaskDeletionRepository taskDeletionRepository;
+        // bumped by every task write: the ETags of the task list, the project and the project list
+        private final ProjectTaskVersionRepository projectTaskVersionRepository;
         private final EntityMapper mapper;
+        private final OwnershipService ownershipService;
+        private final EntityManager entityManager;
+        private final ObjectMapper objectMapper;
+        // ProjectEvents, pushed to the SSE subscribers after commit (ProjectEventBroker)
+        private final ApplicationEventPublisher eventPublisher;
+        // the project list shows task counters (ProjectListCache)
+        private final ProjectListCache projectListCache;
+
+        @Value("${application.search.fulltext.enabled:true}")
+        private boolean fullTextEnabled;
+
+        // max tasks per batch request
+        @Value("${application.tasks.batch.max-size:1000}")
+        private int maxBatchSize = 1000;
+
+        // Delta sync only returns rows older than this: updatedAt is set BEFORE the commit, so a transaction
+        // still running could later publish a row "in the past". Must be longer than the longest write transaction.
+        @Value("${application.tasks.sync.settle-delay-ms:5000}")
+        private long syncSettleDelayMs = 5000;
+
+        @Value("${application.tasks.sync.max-page-size:1000}")
+        private int maxSyncPageSize = 1000;
+
+        // Tombstones older than this are deleted (TaskDeletionCleanup): older tokens can't be served
+        @Value("${application.tasks.sync.tombstone-retention-days:30}")
+        private long tombstoneRetentionDays = 30;
+
+        // flush + clear the persistence context every N rows (should match hibernate.jdbc.batch_size)
+        @Value("${application.jpa.batch-size:50}")
+        private int jdbcBatchSize = 50;
 
         @Override
         @Transactional
         public TaskDto createTask(Long projectId, TaskDto request, String userEmail) {
-            Project project = projectRepository.findById(projectId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
-
             // SECURITY: Only the Project Owner can add tasks
-            if (!project.getUser().getEmail().equals(userEmail)) {
-                throw new AccessDeniedException("You are not authorized to add tasks to this project");
-            }
+            ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to add tasks to this project");
+
+            // Proxy only: the FK is all we need, no SELECT on projects
+            Project project = projectRepository.getReferenceById(projectId);
 
             Task task = Task.builder()
                     .title(request.getTitle())
@@ -48,7 +111,10 @@
                     .build();
 
             Task savedTask = taskRepository.save(task);
+            touchProjects(List.of(projectId));
 
+            projectListCache.evict(userEmail);
+            eventPublisher.publishEvent(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_CREATED, projectId, List.of(savedTask.getId())));
             return mapper.toTaskDto(savedTask);
         }
 
@@ -56,69 +122,319 @@
         @Transactional(readOnly = true)
         // we kept this method in case of "Export All Tasks" button that doesn't use pagination ...
         public List<TaskDto> getTasksByProject(Long projectId, String userEmail) {
-            Project project = projectRepository.findById(projectId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
-
             // SECURITY: Only owner can view tasks
-            if (!project.getUser().getEmail().equals(userEmail)) {
-                throw new AccessDeniedException("You are not authorized to view these tasks");
-            }
+            ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to view these tasks");
 
-            return taskRepository.findByProjectId(projectId).stream()
-                    .map(mapper::toTaskDto)
-                    .collect(Collectors.toList());
+            return taskRepository.findDtosByProjectId(projectId, true);
         }
 
         @Override
         @Transactional(readOnly = true)
-        public Page<TaskDto> getTasksByProjectWithFilters(Long projectId, String search, TaskStatus status, int page, int size, String userEmail) {
-            Project project = projectRepository.findById(projectId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+        public void exportTasks(Long projectId, TaskExportFormat format, OutputStream out) throws IOException {
+            // SECURITY: the owner is checked by TaskController, before the CSV / NDJSON headers are set
+            TaskExportWriter writer = new TaskExportWriter(format, out, objectMapper);
+            // DTO rows: nothing is attached to the persistence context, it does not grow with the export
+            try (Stream<TaskDto> tasks = taskRepository.streamByProjectId(projectId)) {
+                Iterator<TaskDto> it = tasks.iterator();
+                while (it.hasNext()) {
+                    writer.write(it.next());
+                }
+            }
+            writer.flush();
+        }
 
+        @Override
+        @Transactional(readOnly = true)
+        public Page<TaskDto> getTasksByProjectWithFilters(Long projectId, String search, TaskStatus status, int page, int size,
+                                                          FieldSelection fields, String userEmail) {
             // SECURITY: Only owner can view tasks
-            if (!project.getUser().getEmail().equals(userEmail)) {
-                throw new AccessDeniedException("You are not authorized to view these tasks");
+            ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to view these tasks");
+
+            // ?fields= without the description: the queries below don't read the TEXT column
+            boolean withDescription = fields.hasTaskField(FieldSelection.DESCRIPTION);
+
+            // Search box: use the FULLTEXT index (prefix match, ordered by relevance) when it can answer
+            String fullTextQuery = fullTextEnabled ? FullTextSearch.toBooleanModeQuery(search) : null;
+            if (fullTextQuery != null) {
+                String statusName = status == null ? null : status.name();
+                return taskRepository.searchByProjectId(projectId, fullTextQuery, statusName, PageRequest.of(page, size),
+                        withDescription).map(mapper::toTaskDto);
             }
 
             // Create Pageable object (Page 0, Size 5, sorted by DueDate descending)
             Pageable pageable = PageRequest.of(page, size, Sort.by("dueDate").descending());
 
-            Page<Task> taskPage = taskRepository.findByProjectIdAndFilters(projectId, search, status, pageable);
+            // TaskDto rows straight from the query (see TaskRepository.TASK_DTO), no entity to convert
+            return taskRepository.findByProjectIdAndFilters(projectId, search, status, pageable, withDescription);
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public CursorPage<TaskDto> getTasksByProjectAfterCursor(Long projectId, String search, TaskStatus status, String cursor, int size,
+                                                                FieldSelection fields, String userEmail) {
+            // SECURITY: Only owner can view tasks
+            ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to view these tasks");
+
+            // The ORDER BY lives in the queries, the Pageable only carries the LIMIT
+            Pageable limit = PageRequest.of(0, size);
+            // ?fields= without the description: the queries leave the TEXT column out
+            boolean withDescription = fields.hasTaskField(FieldSelection.DESCRIPTION);
 
-            // Convert Page<Task> -> Page<TaskDto>
-            return taskPage.map(mapper::toTaskDto);
+            Slice<TaskDto> slice;
+            if (cursor == null || cursor.isBlank()) {
+                slice = taskRepository.findFirstKeysetPage(projectId, search, status, limit, withDescription);
+            } else {
+                TaskCursor after = TaskCursor.decode(cursor);
+                if (after.dueDate() == null) {
+                    slice = taskRepository.findKeysetPageInNullTail(projectId, search, status, after.id(), limit,
+                            withDescription);
+                } else {
+                    slice = taskRepository.findKeysetPageAfter(projectId, search, status, after.dueDate(), after.id(), limit,
+                            withDescription);
+                }
+            }
+
+            List<TaskDto> tasks = slice.getContent();
+            String nextCursor = slice.hasNext() && !tasks.isEmpty()
+                    ? TaskCursor.of(tasks.get(tasks.size() - 1)).encode()
+                    : null;
+
+            return CursorPage.<TaskDto>builder()
+                    .content(tasks)
+                    .size(size)
+                    .hasNext(slice.hasNext())
+                    .nextCursor(nextCursor)
+                    .build();
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public TaskChanges getTaskChanges(Long projectId, String sinceToken, int limit, String userEmail) {
+            // From the primary: a lagging replica may not have all the rows below "until" yet, and the next
+            // token would skip them for good
+            return PrimaryReads.call(() -> readTaskChanges(projectId, sinceToken, limit, userEmail));
+        }
+
+        private TaskChanges readTaskChanges(Long projectId, String sinceToken, int limit, String userEmail) {
+            // SECURITY: Only owner can sync tasks
+            ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to view these tasks");
+
+            if (limit < 1 || limit > maxSyncPageSize) {
+                throw new BadRequestException("limit must be between 1 and " + maxSyncPageSize);
+            }
+
+            // datetime(6) columns: keep the watermark at the DB precision
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            SyncToken from = sinceToken == null || sinceToken.isBlank() ? SyncToken.INITIAL : SyncToken.decode(sinceToken);
+            if (!from.isInitial() && from.since().isBefore(now.minusDays(tombstoneRetentionDays))) {
+                throw new SyncTokenExpiredException("Sync token expired, sync again without a token");
+            }
+
+            // Only "settled" rows (see syncSettleDelayMs); never go back before the client's watermark
+            LocalDateTime until = now.minus(Duration.ofMillis(syncSettleDelayMs));
+            if (until.isBefore(from.since())) {
+                until = from.since();
+            }
+
+            Slice<Task> slice = taskRepository.findChangedSince(
+                    projectId, from.since(), from.afterId(), until, PageRequest.of(0, limit));
+            List<Task> tasks = slice.getContent();
+
+            // More pages: continue after the last row. Last page: everything up to "until" was sent
+            SyncToken next = slice.hasNext() ? SyncToken.of(tasks.get(tasks.size() - 1)) : SyncToken.upTo(until);
+
+            // Tombstones of the same time range; a first sync has nothing to delete
+            List<Long> deleted = from.isInitial()
+                    ? List.of()
+                    : taskDeletionRepository.findDeletedTaskIds(projectId, from.since(), next.since());
+
+            return TaskChanges.builder()
+                    .changed(tasks.stream().map(mapper::toTaskDto).collect(Collectors.toList()))
+                    .deleted(deleted)
+                    .nextToken(next.encode())
+                    .hasMore(slice.hasNext())
+                    .build();
+        }
+
+        @Override
+        @Transactional(readOnly = true)
+        public ResourceVersion getTasksVersion(Long projectId, String userEmail) {
+            // the ETag is compared with the client's: read from the primary (PrimaryReads)
+            return PrimaryReads.call(() -> {
+                ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to view tasks of this project");
+
+                return ResourceVersion.of(projectTaskVersionRepository.findVersionStampByProjectId(projectId));
+            });
         }
 
         @Override
         @Transactional
-        public TaskDto updateTask(Long taskId, TaskDto request, String userEmail) {
+        public TaskDto updateTask(Long taskId, TaskDto request, Long expectedVersion, String userEmail) {
+            // SECURITY: Task -> Project -> User checked on ids, without navigating the entities
+            Long projectId = ownershipService.checkTaskOwner(taskId, userEmail, "You are not authorized to update this task");
+
             Task task = taskRepository.findById(taskId)
                     .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
 
-            // SECURITY: Navigation Check (Task -> Project -> User)
-            if (!task.getProject().getUser().getEmail().equals(userEmail)) {
-                throw new AccessDeniedException("You are not authorized to update this task");
+            // If-Match: a concurrent commit after this check is still caught by @Version at flush
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw new PreconditionFailedException("Task " + taskId + " was modified, reload it before saving");
             }
 
+            boolean countersChanged = changesCompletedCount(task, request);
             if (request.getTitle() != null) task.setTitle(request.getTitle());
             if (request.getDescription() != null) task.setDescription(request.getDescription());
             if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
             if (request.getStatus() != null) task.setStatus(request.getStatus());
 
-            return mapper.toTaskDto(taskRepository.save(task));
+            // flushed now so the returned DTO (and ETag) carries the new version
+            TaskDto updated = mapper.toTaskDto(taskRepository.saveAndFlush(task));
+            touchProjects(List.of(projectId));
+            if (countersChanged) {
+                projectListCache.evict(userEmail);
+            }
+            eventPublisher.publishEvent(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_UPDATED, projectId, List.of(taskId)));
+            return updated;
         }
 
         @Override
         @Transactional
         public void deleteTask(Long id, String userEmail) {
+            // SECURITY: Check ownership
+            Long projectId = ownershipService.checkTaskOwner(id, userEmail, "You are not authorized to delete this task");
+
             Task task = taskRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
 
-            // SECURITY: Check ownership
-            if (!task.getProject().getUser().getEmail().equals(userEmail)) {
-                throw new AccessDeniedException("You are not authorized to delete this task");
+            // tombstone for the delta-sync clients
+            taskDeletionRepository.logDeletions(List.of(id), LocalDateTime.now());
+            taskRepository.delete(task);
+            touchProjects(List.of(projectId));
+            projectListCache.evict(userEmail);
+            eventPublisher.publishEvent(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_DELETED, projectId, List.of(id)));
+        }
+
+        @Override
+        @Transactional
+        public List<TaskDto> createTasks(Long projectId, List<TaskDto> requests, String userEmail) {
+            checkBatchSize(requests);
+
+            // SECURITY: checked once for the whole batch
+            ownershipService.checkProjectOwner(projectId, userEmail, "You are not authorized to add tasks to this project");
+
+            List<TaskDto> created = new ArrayList<>(requests.size());
+            List<Long> createdIds = new ArrayList<>(requests.size());
+            Project project = projectRepository.getReferenceById(projectId);
+            for (int i = 0; i < requests.size(); i++) {
+                TaskDto request = requests.get(i);
+                Task task = Task.builder()
+                        .title(request.getTitle())
+                        .description(request.getDescription())
+                        .dueDate(request.getDueDate())
+                        .status(request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING)
+                        .project(project)
+                        .build();
+
+                // id comes from the sequence, no INSERT yet: Hibernate sends them in JDBC batches
+                Task saved = taskRepository.save(task);
+                created.add(mapper.toTaskDto(saved));
+                createdIds.add(saved.getId());
+
+                if ((i + 1) % jdbcBatchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    project = projectRepository.getReferenceById(projectId);
+                }
             }
+            touchProjects(List.of(projectId));
+            projectListCache.evict(userEmail);
+            // one event for the whole batch
+            eventPublisher.publishEvent(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_CREATED, projectId, createdIds));
+            return created;
+        }
 
-            taskRepository.delete(task);
+        @Override
+        @Transactional
+        public List<TaskDto> updateTasks(List<TaskDto> requests, String userEmail) {
+            checkBatchSize(requests);
+            if (requests.stream().anyMatch(r -> r.getId() == null)) {
+                throw new BadRequestException("Every task of a batch update needs an id");
+            }
+
+            List<Long> ids = requests.stream().map(TaskDto::getId).distinct().collect(Collectors.toList());
+            ownershipService.checkTasksOwner(ids, userEmail, "You are not authorized to update these tasks");
+
+            // with their description: the updated tasks are sent back whole
+            Map<Long, Task> tasks = taskRepository.findAllWithDescriptionByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            // one event per project (a batch may span several projects of the user)
+            tasks.values().stream()
+                    .collect(Collectors.groupingBy(t -> t.getProject().getId(),
+                            Collectors.mapping(Task::getId, Collectors.toList())))
+                    .forEach((projectId, taskIds) -> eventPublisher.publishEvent(
+                            ProjectEvent.ofTasks(ProjectEvent.Type.TASK_UPDATED, projectId, taskIds)));
+
+            if (requests.stream().anyMatch(request -> changesCompletedCount(tasks.get(request.getId()), request))) {
+                projectListCache.evict(userEmail);
+            }
+
+            // Same partial-update rules as updateTask; dirty checking turns them into batched UPDATEs
+            for (TaskDto request : requests) {
+                Task task = tasks.get(request.getId());
+                if (request.getTitle() != null) task.setTitle(request.getTitle());
+                if (request.getDescription() != null) task.setDescription(request.getDescription());
+                if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
+                if (request.getStatus() != null) task.setStatus(request.getStatus());
+            }
+            // Flushed before mapping: the returned versions (the next If-Match) are the ones written, not the old ones
+            entityManager.flush();
+            touchProjects(tasks.values().stream().map(task -> task.getProject().getId()).collect(Collectors.toSet()));
+
+            return requests.stream()
+                    .map(request -> mapper.toTaskDto(tasks.get(request.getId())))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        @Transactional
+        public void deleteTasks(List<Long> taskIds, String userEmail) {
+            checkBatchSize(taskIds);
+
+            List<Long> ids = taskIds.stream().distinct().collect(Collectors.toList());
+            List<TaskProjectRef> refs = ownershipService.checkTasksOwner(ids, userEmail, "You are not authorized to delete these tasks");
+
+            // One INSERT ... SELECT for the tombstones + one DELETE ... WHERE id IN (...), nothing is loaded
+            taskDeletionRepository.logDeletions(ids, LocalDateTime.now());
+            taskRepository.deleteAllByIdInBatch(ids);
+            touchProjects(refs.stream().map(TaskProjectRef::getProjectId).collect(Collectors.toSet()));
+            projectListCache.evict(userEmail);
+
+            refs.stream()
+                    .collect(Collectors.groupingBy(TaskProjectRef::getProjectId,
+                            Collectors.mapping(TaskProjectRef::getId, Collectors.toList())))
+                    .forEach((projectId, deletedIds) -> eventPublisher.publishEvent(
+                            ProjectEvent.ofTasks(ProjectEvent.Type.TASK_DELETED, projectId, deletedIds)));
+        }
+
+        // One UPDATE per project, in the write's transaction (see ProjectTaskVersion)
+        private void touchProjects(Collection<Long> projectIds) {
+            projectTaskVersionRepository.touch(projectIds, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        }
+
+        // The project list only shows the total and completed counters: a title, date or
+        // PENDING <-> IN_PROGRESS change leaves the cached list as it is
+        private static boolean changesCompletedCount(Task task, TaskDto request) {
+            return request.getStatus() != null
+                    && (request.getStatus() == TaskStatus.COMPLETED) != (task.getStatus() == TaskStatus.COMPLETED);
+        }
+
+        private void checkBatchSize(List<?> batch) {
+            if (batch == null || batch.isEmpty()) {
+                throw new BadRequestException("Batch is empty");
+            }
+            if (batch.size() > maxBatchSize) {
+                throw new BadRequestException("Batch too large: " + batch.size() + " items (max " + maxBatchSize + ")");
+            }
         }
     }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.hahn.backend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hahn.backend.dto.projection.RevokedToken;
+import com.hahn.backend.entities.TokenRevocation;
+import com.hahn.backend.repositories.TokenRevocationRepository;
+import com.hahn.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked JWTs: logout revokes one token (its jti), "revoke all" every token of a user issued up to now.
+// The JWT filter checks each request in memory, no DB round trip: a Bloom filter over the revoked jtis
+// (a miss is final; a hit, ~1% false positives, is confirmed once against token_revocations and remembered)
+// and a map email -> time of the last "revoke all".
+// Rows are deleted, and the filter rebuilt, once the tokens they cover have expired.
+// Several instances: each one picks up the revocations of the others every sync-ms.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    // a revocation committed late, or read from a lagging replica, is still picked up by the next sync
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository revocationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.security.jwt.expiration}")
+    private long jwtExpiration;
+
+    // sizes the Bloom filter: beyond that many live revocations the false-positive rate goes up until the next rebuild
+    @Value("${application.security.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${application.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter revokedIds;
+    // email -> epoch millis of the last "revoke all"
+    private volatile Map<String, Long> revokedUpTo;
+    // jti -> revoked?, for the Bloom filter hits already checked against the table
+    private Cache<String, Boolean> confirmedIds;
+    private volatile LocalDateTime lastSync;
+    private Counter lookups;
+
+    @PostConstruct
+    void init() {
+        confirmedIds = Caffeine.newBuilder().maximumSize(10_000).build();
+        lookups = meterRegistry.counter("auth.token.revocation.lookups");
+        rebuild();
+    }
+
+    public boolean isRevoked(JwtService.VerifiedToken token) {
+        if (token.username() != null && token.issuedAt() != null) {
+            // millisecond issue time (JwtService.ISSUED_AT_MILLIS); older tokens only have iat, to the second
+            Long upTo = revokedUpTo.get(token.username());
+            if (upTo != null && token.issuedAt().getTime() <= upTo) {
+                return true;
+            }
+        }
+        String id = token.id();
+        return id != null && revokedIds.mightContain(id) && isConfirmed(id);
+    }
+
+    public void revoke(JwtService.VerifiedToken token) {
+        if (token.id() == null || token.expiration() == null) {
+            return; // issued before tokens had a jti: it expires on its own
+        }
+        if (Boolean.TRUE.equals(confirmedIds.getIfPresent(token.id()))) {
+            return; // logout sent twice
+        }
+        try {
+            revocationRepository.save(TokenRevocation.builder()
+                    .jti(token.id())
+                    .revokedAt(LocalDateTime.now())
+                    .expiresAt(toLocalDateTime(token.expiration()))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // ux_token_revocations_jti: already revoked through another instance
+        }
+        revokedIds.add(token.id());
+        confirmedIds.put(token.id(), Boolean.TRUE);
+    }
+
+    // e.g. "log out everywhere", or after a password change
+    public void revokeAll(String email) {
+        Instant now = Instant.now();
+        revocationRepository.save(TokenRevocation.builder()
+                .subject(email)
+                .revokedAt(toLocalDateTime(now))
+                .expiresAt(toLocalDateTime(now.plusMillis(jwtExpiration)))
+                .build());
+        revokedUpTo.merge(email, now.toEpochMilli(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.revocation.sync-ms:5000}",
+            initialDelayString = "${application.security.revocation.sync-ms:5000}")
+    public void syncNewRevocations() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> revoked = revocationRepository.findActiveRevokedSince(lastSync.minus(SYNC_OVERLAP), startedAt);
+        for (RevokedToken token : revoked) {
+            if (token.getJti() != null) {
+                // may have been confirmed "not revoked" (a false positive) before it was
+                confirmedIds.put(token.getJti(), Boolean.TRUE);
+            }
+        }
+        apply(revoked, revokedIds, revokedUpTo);
+        lastSync = startedAt;
+    }
+
+    // In a read-write transaction: the reload reads the primary, not a replica
+    @Scheduled(cron = "${application.security.revocation.prune-cron:0 15 * * * *}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = revocationRepository.deleteExpired(LocalDateTime.now());
+        rebuild();
+        if (deleted > 0) {
+            log.info("Deleted {} expired token revocations", deleted);
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<RevokedToken> active = revocationRepository.findActive(startedAt);
+
+        BloomFilter ids = new BloomFilter(Math.max(expectedRevocations, 2L * active.size()), falsePositiveRate);
+        Map<String, Long> upTo = new ConcurrentHashMap<>();
+        apply(active, ids, upTo);
+        revokedIds = ids;
+        revokedUpTo = upTo;
+        confirmedIds.invalidateAll();
+        log.debug("Loaded {} token revocations ({} KB filter)", active.size(), ids.sizeInBytes() / 1024);
+
+        // A revoke() that went to the previous filter while this one was loading is committed by now: sync it over
+        lastSync = startedAt;
+        syncNewRevocations();
+    }
+
+    private static void apply(List<RevokedToken> revoked, BloomFilter ids, Map<String, Long> upTo) {
+        for (RevokedToken token : revoked) {
+            if (token.getJti() != null) {
+                ids.add(token.getJti());
+            }
+            if (token.getSubject() != null) {
+                long revokedAt = token.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                upTo.merge(token.getSubject(), revokedAt, Math::max);
+            }
+        }
+    }
+
+    private boolean isConfirmed(String id) {
+        Boolean revoked = confirmedIds.getIfPresent(id);
+        if (revoked == null) {
+            lookups.increment();
+            revoked = revocationRepository.existsByJti(id);
+            confirmedIds.put(id, revoked);
+        }
+        return revoked;
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return toLocalDateTime(date.toInstant());
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
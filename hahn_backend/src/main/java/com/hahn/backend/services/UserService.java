@@ -8,4 +8,7 @@ public interface UserService {
 
     UserDto updateUser(Long id, UserDto userDto);
 
+    // Every token issued to the current user so far stops working ("log out everywhere")
+    void revokeAllTokens();
+
 }
\ No newline at end of file
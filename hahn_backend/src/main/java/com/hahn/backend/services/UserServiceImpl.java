@@ -1,5 +1,7 @@
 package com.hahn.backend.services;
 
+import com.hahn.backend.config.AuthenticatedUser;
+import com.hahn.backend.config.UserPrincipalCache;
 import com.hahn.backend.dto.response.UserDto;
 import com.hahn.backend.entities.User;
 import com.hahn.backend.exceptions.AccessDeniedException;
@@ -21,11 +23,14 @@ public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository ;
     private final EntityMapper mapper ;
+    private final UserPrincipalCache principalCache ;
+    private final TokenRevocationService revocationService ;
 
 
     @Override
     public UserDto getCurrentUser() {
-        User user = getAuthenticatedUser() ;
+        User user = userRepository.findById(getAuthenticatedUser().id())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         return mapper.toUserDto(user);
     }
 
@@ -36,8 +41,8 @@ public class UserServiceImpl implements UserService{
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // SECURITY CHECK: Ensure the logged-in user is updating THEIR OWN account
-        User currentUser = getAuthenticatedUser();
-        if (!currentUser.getId().equals(user.getId())) {
+        AuthenticatedUser currentUser = getAuthenticatedUser();
+        if (!currentUser.id().equals(user.getId())) {
             throw new AccessDeniedException("You are not authorized to update this profile");
 
         }
@@ -46,16 +51,28 @@ public class UserServiceImpl implements UserService{
         }
 
         User updatedUser = userRepository.save(user);
+        principalCache.evict(updatedUser.getEmail());
         return mapper.toUserDto(updatedUser);
     }
 
 
-    private User  getAuthenticatedUser(){
+    @Override
+    public void revokeAllTokens() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("User is not authenticated !");
+        }
+        revocationService.revokeAll(authentication.getName());
+    }
+
+
+    private AuthenticatedUser  getAuthenticatedUser(){
          Authentication authentication = SecurityContextHolder.getContext().getAuthentication() ;
-         if(authentication == null || !authentication.isAuthenticated()){
+         // set by JwtAuthenticationFilter: id + email only, the User row is loaded where it is needed
+         if(authentication == null || !authentication.isAuthenticated()
+                 || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)){
              throw new RuntimeException("User is not authenticated !") ;
          }
-        // We can cast directly because we set it in the Filter
-        return (User) authentication.getPrincipal();
+        return principal;
     }
 }
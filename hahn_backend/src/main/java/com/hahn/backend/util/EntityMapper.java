@@ -1,5 +1,8 @@
 package com.hahn.backend.util;
 
+import com.hahn.backend.dto.projection.ProjectSummary;
+import com.hahn.backend.dto.projection.ProjectTaskStats;
+import com.hahn.backend.dto.projection.TaskRow;
 import com.hahn.backend.dto.response.ProjectDto;
 import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.dto.response.UserDto;
@@ -9,6 +12,8 @@ import com.hahn.backend.entities.TaskStatus;
 import com.hahn.backend.entities.User;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,9 +27,15 @@ public class EntityMapper {
                 .dueDate(task.getDueDate())
                 .status(task.getStatus())
                 .projectId(task.getProject().getId())
+                .version(task.getVersion())
                 .build();
     }
 
+    public TaskDto toTaskDto(TaskRow row) {
+        return new TaskDto(row.getId(), row.getTitle(), row.getDescription(), row.getDueDate(),
+                row.getStatus(), row.getProjectId(), row.getVersion());
+    }
+
     public UserDto toUserDto(User user ){
         return UserDto.builder()
                 .id(user.   getId())
@@ -42,8 +53,6 @@ public class EntityMapper {
                         .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
                         .count() : 0;
 
-        double progressPercentage = (total == 0) ? 0.0 : ((double) completedCount / total) * 100;
-
         // Map the tasks
         var taskDtos = project.getTasks() == null ? null :
                 project.getTasks().stream()
@@ -51,15 +60,49 @@ public class EntityMapper {
                         .collect(Collectors.toList());
 
         //  Build the DTO
-        return ProjectDto.builder()
-                .id(project.getId())
-                .title(project.getTitle())
-                .description(project.getDescription())
-                .createdAt(project.getCreatedAt())
-                .totalTasks(total)
-                .completedTasks((int) completedCount)
-                .progress(progressPercentage)
+        return baseProjectDto(project, total, (int) completedCount)
                 .tasks(taskDtos)
                 .build();
     }
+
+    // Detail read from projections: the stats are counted on the task DTOs already fetched
+    public ProjectDto toProjectDto(ProjectSummary project, List<TaskDto> tasks) {
+        int completedCount = (int) tasks.stream()
+                .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
+                .count();
+
+        return baseProjectDto(project.getId(), project.getTitle(), project.getDescription(),
+                project.getCreatedAt(), project.getVersion(), tasks.size(), completedCount)
+                .tasks(tasks)
+                .build();
+    }
+
+    // List mode (and a detail without its tasks): stats come from the aggregate query, null = not asked for
+    public ProjectDto toProjectSummaryDto(ProjectSummary project, ProjectTaskStats stats) {
+        int total = stats != null ? stats.getTotalTasks().intValue() : 0;
+        int completedCount = stats != null ? stats.getCompletedTasks().intValue() : 0;
+
+        return baseProjectDto(project.getId(), project.getTitle(), project.getDescription(),
+                project.getCreatedAt(), project.getVersion(), total, completedCount).build();
+    }
+
+    private ProjectDto.ProjectDtoBuilder baseProjectDto(Project project, int total, int completedCount) {
+        return baseProjectDto(project.getId(), project.getTitle(), project.getDescription(),
+                project.getCreatedAt(), project.getVersion(), total, completedCount);
+    }
+
+    private ProjectDto.ProjectDtoBuilder baseProjectDto(Long id, String title, String description,
+                                                        LocalDateTime createdAt, Long version, int total, int completedCount) {
+        double progressPercentage = (total == 0) ? 0.0 : ((double) completedCount / total) * 100;
+
+        return ProjectDto.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .createdAt(createdAt)
+                .version(version)
+                .totalTasks(total)
+                .completedTasks(completedCount)
+                .progress(progressPercentage);
+    }
 }
\ No newline at end of file
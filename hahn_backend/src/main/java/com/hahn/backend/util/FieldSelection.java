@@ -0,0 +1,167 @@
+package com.hahn.backend.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.exceptions.BadRequestException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Sparse fieldsets: ?fields= / ?include= of the project and task GETs.
+// fields = attributes to send ("title,createdAt"; "tasks.title" for the tasks embedded in a project), absent = all.
+// include (projects) = "tasks" (detail only) and/or "stats" (totalTasks, completedTasks, progress); "" = neither.
+// The same selection drives the queries (an unrequested column or association is not read, e.g. the TEXT
+// descriptions) and the JSON (the "fields" Jackson filter, see JacksonConfig). The id is always sent.
+public record FieldSelection(Set<String> projectFields, Set<String> taskFields, Set<String> includes) {
+
+    public static final String FILTER_ID = "fields";
+    public static final String TASKS = "tasks";
+    public static final String STATS = "stats";
+    public static final String DESCRIPTION = "description";
+
+    private static final String TASK_PREFIX = TASKS + ".";
+
+    private static final Set<String> PROJECT_ATTRIBUTES = Set.of("id", "title", DESCRIPTION, "createdAt", "version");
+    private static final Set<String> TASK_ATTRIBUTES =
+            Set.of("id", "title", DESCRIPTION, "dueDate", "status", "projectId", "version");
+    private static final Set<String> STATS_ATTRIBUTES = Set.of("totalTasks", "completedTasks", "progress");
+
+    // Without ?fields= / ?include=: the responses as they were before sparse fieldsets
+    public static final FieldSelection PROJECT_LIST = new FieldSelection(PROJECT_ATTRIBUTES, TASK_ATTRIBUTES, Set.of(STATS));
+    public static final FieldSelection PROJECT_DETAIL =
+            new FieldSelection(PROJECT_ATTRIBUTES, TASK_ATTRIBUTES, Set.of(TASKS, STATS));
+    public static final FieldSelection ALL_TASK_FIELDS = new FieldSelection(PROJECT_ATTRIBUTES, TASK_ATTRIBUTES, Set.of());
+
+    // GET /api/projects: the tasks are never embedded in the list
+    public static FieldSelection forProjectList(String fields, String include) {
+        return forProjects(fields, include, PROJECT_LIST, Set.of(STATS));
+    }
+
+    // GET /api/projects/{id}
+    public static FieldSelection forProject(String fields, String include) {
+        return forProjects(fields, include, PROJECT_DETAIL, Set.of(TASKS, STATS));
+    }
+
+    // GET /api/projects/{id}/tasks (+ /cursor)
+    public static FieldSelection forTasks(String fields) {
+        if (fields == null) {
+            return ALL_TASK_FIELDS;
+        }
+        Set<String> taskFields = new LinkedHashSet<>();
+        for (String field : split(fields)) {
+            taskFields.add(check(field, TASK_ATTRIBUTES));
+        }
+        return new FieldSelection(PROJECT_ATTRIBUTES, withId(taskFields, TASK_ATTRIBUTES), Set.of());
+    }
+
+    private static FieldSelection forProjects(String fields, String include, FieldSelection defaults, Set<String> includable) {
+        Set<String> projectFields = new LinkedHashSet<>();
+        Set<String> taskFields = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String field : split(fields)) {
+                if (field.startsWith(TASK_PREFIX)) {
+                    taskFields.add(check(field.substring(TASK_PREFIX.length()), TASK_ATTRIBUTES));
+                } else {
+                    projectFields.add(check(field, PROJECT_ATTRIBUTES));
+                }
+            }
+        }
+
+        Set<String> includes = defaults.includes();
+        if (include != null) {
+            includes = new LinkedHashSet<>();
+            for (String name : split(include)) {
+                if (!includable.contains(name)) {
+                    throw new BadRequestException("Cannot include '" + name + "' here, expected one of " + includable);
+                }
+                includes.add(name);
+            }
+        }
+        return new FieldSelection(withId(projectFields, PROJECT_ATTRIBUTES), withId(taskFields, TASK_ATTRIBUTES), Set.copyOf(includes));
+    }
+
+    public boolean hasProjectField(String name) {
+        return projectFields.contains(name);
+    }
+
+    public boolean hasTaskField(String name) {
+        return taskFields.contains(name);
+    }
+
+    public boolean includesTasks() {
+        return includes.contains(TASKS);
+    }
+
+    public boolean includesStats() {
+        return includes.contains(STATS);
+    }
+
+    // Response body serialized through this selection (the other converters' settings are kept)
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, new Filter(this)));
+        return value;
+    }
+
+    boolean isSelected(Object bean, String property) {
+        if (bean instanceof TaskDto) {
+            return taskFields.contains(property);
+        }
+        if (bean instanceof ProjectDto) {
+            if (TASKS.equals(property)) {
+                return includesTasks();
+            }
+            return STATS_ATTRIBUTES.contains(property) ? includesStats() : projectFields.contains(property);
+        }
+        return true;
+    }
+
+    private static List<String> split(String value) {
+        return List.of(value.split(",")).stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    private static String check(String field, Set<String> attributes) {
+        if (!attributes.contains(field)) {
+            throw new BadRequestException("Unknown field '" + field + "', expected one of " + attributes);
+        }
+        return field;
+    }
+
+    // nothing listed at a level = all of its attributes
+    private static Set<String> withId(Set<String> fields, Set<String> all) {
+        if (fields.isEmpty()) {
+            return all;
+        }
+        fields.add("id");
+        return Set.copyOf(fields);
+    }
+
+    private static final class Filter extends SimpleBeanPropertyFilter {
+
+        private final FieldSelection selection;
+
+        Filter(FieldSelection selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+                throws Exception {
+            if (selection.isSelected(pojo, writer.getName())) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+    }
+}
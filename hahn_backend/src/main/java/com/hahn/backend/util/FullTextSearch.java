@@ -0,0 +1,45 @@
+package com.hahn.backend.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Turns what the user typed in the search box into a MySQL BOOLEAN MODE query: "api bug" -> "+api* +bug*"
+// Semantics of the index: every word must START a word of the title or description ("bug" finds "bugfix", not
+// "debug"). The LIKE fallback (TaskRepository.FILTERS) matches the text as a substring anywhere instead.
+public final class FullTextSearch {
+
+    // InnoDB default (innodb_ft_min_token_size): shorter words are not in the index at all
+    public static final int MIN_TOKEN_LENGTH = 3;
+
+    // InnoDB default stopword list (INFORMATION_SCHEMA.INNODB_FT_DEFAULT_STOPWORD), 3+ letters: not indexed either
+    static final Set<String> STOPWORDS = Set.of("about", "are", "com", "for", "from", "how", "that", "the", "this",
+            "was", "what", "when", "where", "who", "will", "with", "und", "www");
+
+    private FullTextSearch() {
+    }
+
+    /**
+     * @return the boolean-mode query, or null when the FULLTEXT index can't answer it
+     * (blank input, a word shorter than MIN_TOKEN_LENGTH or a stopword) and the caller should fall back to LIKE.
+     */
+    public static String toBooleanModeQuery(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+
+        // Drop the boolean operators so user input can't change the query semantics
+        String[] words = search.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+");
+        if (words.length == 0 || words[0].isEmpty()
+                || Arrays.stream(words).anyMatch(w -> w.length() < MIN_TOKEN_LENGTH
+                        || STOPWORDS.contains(w.toLowerCase(Locale.ROOT)))) {
+            return null;
+        }
+
+        // every word required (+), prefix match (*) so it works while the user is still typing
+        return Arrays.stream(words)
+                .map(w -> "+" + w + "*")
+                .collect(Collectors.joining(" "));
+    }
+}
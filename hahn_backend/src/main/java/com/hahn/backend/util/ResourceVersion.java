@@ -0,0 +1,74 @@
+package com.hahn.backend.util;
+
+import com.hahn.backend.dto.projection.VersionStamp;
+import com.hahn.backend.exceptions.PreconditionFailedException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// ETag + Last-Modified of a GET response, built from VersionStamps (no entity is loaded, no mapping)
+public record ResourceVersion(String eTag, LocalDateTime lastModified) {
+
+    // "v<version>" or "v<version>-<stamps of the children>"
+    private static final Pattern ENTITY_TAG = Pattern.compile("^\"v(\\d+)(-[^\"]*)?\"$");
+
+    // Collections (project list, task list): "<count>.<idSum>.<versionSum>-..."
+    public static ResourceVersion of(VersionStamp... stamps) {
+        return new ResourceVersion(quote(join(stamps)), latest(stamps));
+    }
+
+    // One entity (its version first, so If-Match can check it) + the rows embedded in its representation
+    public static ResourceVersion ofEntity(VersionStamp entity, VersionStamp... children) {
+        String tag = "v" + entity.getVersionSum() + (children.length == 0 ? "" : "-" + join(children));
+
+        VersionStamp[] all = Arrays.copyOf(children, children.length + 1);
+        all[children.length] = entity;
+        return new ResourceVersion(quote(tag), latest(all));
+    }
+
+    public static String entityTag(Long version) {
+        return quote("v" + version);
+    }
+
+    // If-Match header -> version the client expects, null = no precondition (header absent or "*").
+    // Only the entity's own version is compared: its tasks are separate resources with their own version.
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        // Weak tags (W/"...") never match: If-Match uses strong comparison
+        Matcher matcher = ENTITY_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+
+    // Epoch millis for ResponseEntity.lastModified, -1 when there is no row at all
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String join(VersionStamp... stamps) {
+        return Arrays.stream(stamps)
+                .map(s -> s.getRowCount() + "." + s.getIdSum() + "." + s.getVersionSum())
+                .collect(Collectors.joining("-"));
+    }
+
+    private static LocalDateTime latest(VersionStamp... stamps) {
+        return Arrays.stream(stamps)
+                .map(VersionStamp::getLastUpdated)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
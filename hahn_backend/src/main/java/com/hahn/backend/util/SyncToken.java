@@ -0,0 +1,46 @@
+package com.hahn.backend.util;
+
+import com.hahn.backend.entities.Task;
+import com.hahn.backend.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Watermark of the delta-sync endpoint: position in the (updatedAt, id) order of a project's tasks.
+ * Sent to the client as an opaque Base64 token: "updatedAt|id".
+ */
+public record SyncToken(LocalDateTime since, Long afterId) {
+
+    // No token yet: every task of the project, no tombstones (the client has nothing to delete)
+    public static final SyncToken INITIAL = new SyncToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    public static SyncToken of(Task task) {
+        return new SyncToken(task.getUpdatedAt(), task.getId());
+    }
+
+    // Everything up to "until" (included) was sent
+    public static SyncToken upTo(LocalDateTime until) {
+        return new SyncToken(until, Long.MAX_VALUE);
+    }
+
+    public boolean isInitial() {
+        return INITIAL.equals(this);
+    }
+
+    public String encode() {
+        String raw = since + "|" + afterId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new SyncToken(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
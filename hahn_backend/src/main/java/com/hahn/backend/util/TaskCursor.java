@@ -0,0 +1,35 @@
+package com.hahn.backend.util;
+
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in the (dueDate DESC, id DESC) order of a project's tasks.
+ * Sent to the client as an opaque Base64 token: "dueDate|id" (dueDate empty when null).
+ */
+public record TaskCursor(LocalDate dueDate, Long id) {
+
+    public static TaskCursor of(TaskDto task) {
+        return new TaskCursor(task.getDueDate(), task.getId());
+    }
+
+    public String encode() {
+        String raw = (dueDate == null ? "" : dueDate.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            String due = raw.substring(0, sep);
+            return new TaskCursor(due.isEmpty() ? null : LocalDate.parse(due), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.hahn.backend.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.dto.response.TaskDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// Writes tasks one by one to the response stream: nothing is accumulated in memory
+public class TaskExportWriter {
+
+    private static final String CSV_HEADER = "id,title,description,dueDate,status,projectId\n";
+
+    private final TaskExportFormat format;
+    private final Writer writer;
+    private final JsonGenerator jsonGenerator;
+
+    public TaskExportWriter(TaskExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TaskExportFormat.NDJSON) {
+            // Never close the servlet stream from here, the container owns it
+            this.jsonGenerator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        } else {
+            this.jsonGenerator = null;
+            writer.write(CSV_HEADER);
+        }
+    }
+
+    public void write(TaskDto task) throws IOException {
+        if (format == TaskExportFormat.NDJSON) {
+            jsonGenerator.writeObject(task);
+            jsonGenerator.writeRaw('\n');
+        } else {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csv(task.getTitle()));
+            writer.write(',');
+            writer.write(csv(task.getDescription()));
+            writer.write(',');
+            writer.write(task.getDueDate() == null ? "" : task.getDueDate().toString());
+            writer.write(',');
+            writer.write(task.getStatus() == null ? "" : task.getStatus().name());
+            writer.write(',');
+            writer.write(String.valueOf(task.getProjectId()));
+            writer.write('\n');
+        }
+    }
+
+    public void flush() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.flush();
+        }
+        writer.flush();
+    }
+
+    // RFC 4180: quote when needed, double the quotes inside
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,59 @@
+package com.hahn.backend.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// One token bucket per key (client IP, email...): `capacity` requests in a burst, then one more every `refillInterval`.
+// No lock anywhere: the keys live in a Caffeine map (striped, lock-free reads) and each bucket is a single
+// AtomicLong updated with CAS, so two keys never contend and one hot key only retries its own CAS.
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    // how far ahead of "now" the bucket may be pushed before it is empty = (capacity - 1) tokens
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+
+    // key -> "theoretical arrival time": the instant the bucket is full again (GCRA form of a token bucket,
+    // the whole state fits in one long)
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int capacity, Duration refillInterval, long maxKeys) {
+        this(capacity, refillInterval, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillInterval, long maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillInterval.isZero() || refillInterval.isNegative()) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refillInterval > 0");
+        }
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = intervalNanos * (capacity - 1);
+        this.nanoClock = nanoClock;
+        // An idle bucket is full again after capacity * interval: dropping it then loses nothing.
+        // maxKeys bounds the memory when keys are sprayed (evicting a busy bucket resets it, it fails open)
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(refillInterval.multipliedBy(capacity))
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    // Takes one token: 0 = allowed, otherwise nanos to wait until the next token
+    public long tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(nanoClock.getAsLong()));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long base = Math.max(current, now);
+            long wait = base - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
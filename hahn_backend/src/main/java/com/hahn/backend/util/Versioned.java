@@ -0,0 +1,5 @@
+package com.hahn.backend.util;
+
+// A body and the ResourceVersion read with it, in the same transaction: the ETag a GET would send for that body
+public record Versioned<T>(T body, ResourceVersion version) {
+}
@@ -0,0 +1,4 @@
+-- One ProjectPurgeWorker per purge when several instances run: the worker that sets purge_owner (while it is
+-- NULL, or its lease purge_claimed_at has expired) purges the project, the others skip it
+alter table projects add column purge_owner varchar(64);
+alter table projects add column purge_claimed_at datetime(6);
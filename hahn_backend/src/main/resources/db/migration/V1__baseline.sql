@@ -0,0 +1,39 @@
+-- Schema as it was created by Hibernate (ddl-auto=update) before migrations were introduced.
+-- Existing databases are baselined at this version (see FlywayConfig), new ones are created from it.
+
+create table users (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    username varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table projects (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    description TEXT,
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table tasks (
+    due_date date,
+    id bigint not null auto_increment,
+    project_id bigint not null,
+    description TEXT,
+    title varchar(255) not null,
+    status enum ('COMPLETED','IN_PROGRESS','PENDING') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table projects
+    add constraint FKhswfwa3ga88vxv1pmboss6jhm
+    foreign key (user_id)
+    references users (id);
+
+alter table tasks
+    add constraint FKsfhn82y57i3k9uxww1s007acc
+    foreign key (project_id)
+    references projects (id);
@@ -0,0 +1,10 @@
+-- Task ids come from the pooled "tasks_seq" generator (allocationSize 50) so inserts can be JDBC-batched.
+alter table tasks modify id bigint not null;
+
+create table tasks_seq (
+    next_val bigint
+) engine=InnoDB;
+
+-- Hibernate's pooled optimizer reads next_val as the TOP of the first block (next_val - 49 .. next_val),
+-- so the first block must start after the biggest existing id.
+insert into tasks_seq select coalesce(max(id), 0) + 50 from tasks;
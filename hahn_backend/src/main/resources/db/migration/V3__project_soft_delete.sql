@@ -0,0 +1,2 @@
+-- Big projects are hidden first, then purged in chunks by ProjectPurgeWorker
+alter table projects add column deleted_at datetime(6);
@@ -0,0 +1,12 @@
+-- users.email: findByEmail runs on every login, registration and authenticated request.
+-- Registration relies on this constraint instead of a check-then-insert.
+alter table users add constraint ux_users_email unique (email);
+
+-- projects of a user (project list), in creation order
+create index idx_projects_user_created on projects (user_id, created_at);
+
+-- task list: keyset pagination ORDER BY due_date DESC, id DESC
+create index idx_tasks_project_due_id on tasks (project_id, due_date, id);
+
+-- task list filtered by status + COMPLETED count of the project stats
+create index idx_tasks_project_status_due on tasks (project_id, status, due_date);
@@ -0,0 +1,2 @@
+-- Search box of the task list (TaskRepository.searchByProjectId, MATCH ... AGAINST in BOOLEAN MODE)
+create fulltext index ft_tasks_title_description on tasks (title, description);
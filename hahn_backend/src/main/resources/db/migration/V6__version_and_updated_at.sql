@@ -0,0 +1,10 @@
+-- @Version (optimistic locking, If-Match) and @UpdateTimestamp (Last-Modified) of projects and tasks
+alter table projects
+    add column version bigint not null default 0,
+    add column updated_at datetime(6);
+update projects set updated_at = created_at;
+
+alter table tasks
+    add column version bigint not null default 0,
+    add column updated_at datetime(6);
+update tasks set updated_at = current_timestamp(6);
@@ -0,0 +1,13 @@
+-- Delta sync (GET /api/projects/{id}/tasks/changes): WHERE project_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+create index idx_tasks_project_updated_id on tasks (project_id, updated_at, id);
+
+-- Tombstones of deleted tasks (no FK: the task and its project may be gone)
+create table task_deletions (
+    id bigint not null auto_increment,
+    task_id bigint not null,
+    project_id bigint not null,
+    deleted_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_task_deletions_project_deleted on task_deletions (project_id, deleted_at);
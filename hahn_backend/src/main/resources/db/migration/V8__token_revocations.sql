@@ -0,0 +1,13 @@
+-- Revoked JWTs (logout: jti) and "revoke all" cut-offs (subject), kept until the tokens they cover expire
+create table token_revocations (
+    id bigint not null auto_increment,
+    jti varchar(64),
+    subject varchar(255),
+    revoked_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create unique index ux_token_revocations_jti on token_revocations (jti);
+create index idx_token_revocations_revoked on token_revocations (revoked_at);
+create index idx_token_revocations_expires on token_revocations (expires_at);
@@ -0,0 +1,14 @@
+-- Version of the task list of each project, bumped by every task write (see ProjectTaskVersion):
+-- the ETags read one row per project instead of aggregating all of its tasks
+create table project_task_versions (
+    project_id bigint not null,
+    version bigint not null,
+    updated_at datetime(6),
+    primary key (project_id),
+    constraint fk_project_task_versions_project foreign key (project_id) references projects (id) on delete cascade
+) engine=InnoDB;
+
+insert into project_task_versions (project_id, version, updated_at)
+select p.id, 0, coalesce(max(t.updated_at), p.updated_at)
+from projects p left join tasks t on t.project_id = p.id
+group by p.id, p.updated_at;
@@ -0,0 +1,62 @@
+package com.hahn.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCountFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryCountFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryCountFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "warnThreshold", 20);
+    }
+
+    @Test
+    void doFilter_ShouldRecordStatementsAndJdbcTime_PerRouteTemplate() throws Exception {
+        // 1. Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/42");
+
+        // 2. Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/projects/{id}");
+            RequestSqlStats.record(TimeUnit.MILLISECONDS.toNanos(2));
+            RequestSqlStats.record(TimeUnit.MILLISECONDS.toNanos(3));
+        });
+
+        // 3. Assert
+        DistributionSummary statements = meterRegistry.get("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/api/projects/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertEquals(5, meterRegistry.get("http.server.requests.sql.time")
+                .tags("uri", "/api/projects/{id}").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void doFilter_ShouldNotCountStatements_OutsideOfTheRequest() throws Exception {
+        // 1. Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> RequestSqlStats.record(1));
+
+        // 2. Act
+        RequestSqlStats.record(1); // e.g. a scheduled job on the same thread afterwards
+
+        // 3. Assert
+        assertEquals(1, meterRegistry.get("http.server.requests.sql.statements")
+                .tags("uri", "UNKNOWN").summary().totalAmount());
+    }
+}
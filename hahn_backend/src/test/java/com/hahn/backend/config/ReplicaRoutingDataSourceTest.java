@@ -0,0 +1,133 @@
+package com.hahn.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource replica1;
+    private HikariDataSource replica2;
+    private DataSource primary;
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+    private final Connection primaryConnection = mock(Connection.class);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replica1 = mock(HikariDataSource.class);
+        replica2 = mock(HikariDataSource.class);
+        primary = mock(DataSource.class);
+        when(replica1.getPoolName()).thenReturn("replica-1");
+        when(replica2.getPoolName()).thenReturn("replica-2");
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private ReplicaRoutingDataSource routing(ReadYourWritesTracker tracker) {
+        return new ReplicaRoutingDataSource(List.of(replica1, replica2), primary,
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, tracker, 0, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getConnection_ShouldAlternateBetweenReplicas_WhenRoundRobin() throws Exception {
+        // 1. Arrange
+        ReplicaRoutingDataSource dataSource = routing(new ReadYourWritesTracker(Duration.ZERO, 10));
+
+        // 2. Act & 3. Assert
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica2Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_ShouldFallBackToPrimary_WhenEveryReplicaFails() throws Exception {
+        // 1. Arrange
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(replica2.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        ReplicaRoutingDataSource dataSource = routing(new ReadYourWritesTracker(Duration.ZERO, 10));
+
+        // 2. Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // 3. Assert
+        assertSame(primaryConnection, first);
+        assertSame(primaryConnection, second);
+        verify(replica1, times(1)).getConnection(); // marked down after the first failure
+        verify(replica2, times(1)).getConnection();
+    }
+
+    @Test
+    void checkHealth_ShouldBringAReplicaBack_WhenItAnswersAgain() throws Exception {
+        // 1. Arrange
+        when(replica1.getConnection())
+                .thenThrow(new SQLTransientConnectionException("timeout"))
+                .thenReturn(replica1Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        ReplicaRoutingDataSource dataSource = routing(new ReadYourWritesTracker(Duration.ZERO, 10));
+        dataSource.checkHealth();
+
+        // 2. Act
+        Connection whileDown = dataSource.getConnection();
+        dataSource.checkHealth();
+        List<Connection> afterRecovery = List.of(dataSource.getConnection(), dataSource.getConnection());
+
+        // 3. Assert
+        assertSame(replica2Connection, whileDown);
+        assertTrue(afterRecovery.contains(replica1Connection));
+    }
+
+    @Test
+    void getConnection_ShouldReadFromPrimary_RightAfterAWriteOfTheSameUser() throws Exception {
+        // 1. Arrange
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), 10);
+        ReplicaRoutingDataSource dataSource = routing(tracker);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("a@test.com", null, List.of()));
+        tracker.markWrite();
+
+        // 2. Act
+        Connection sameUser = dataSource.getConnection();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("b@test.com", null, List.of()));
+        Connection otherUser = dataSource.getConnection();
+
+        // 3. Assert
+        assertSame(primaryConnection, sameUser);
+        assertSame(replica1Connection, otherUser);
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldGoToThePrimary() throws Exception {
+        // 1. Arrange
+        ReplicaRoutingDataSource dataSource = routing(new ReadYourWritesTracker(Duration.ZERO, 10));
+        Connection withCredentials = mock(Connection.class);
+        when(primary.getConnection("admin", "secret")).thenReturn(withCredentials);
+
+        // 2. Act & 3. Assert
+        assertSame(withCredentials, dataSource.getConnection("admin", "secret"));
+        verify(replica1, never()).getConnection();
+    }
+}
@@ -0,0 +1,104 @@
+package com.hahn.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The real routing path: ReplicaRoutingConfig's LazyConnectionDataSourceProxy under Hibernate and
+// JpaTransactionManager, with two in-memory databases standing for the primary and a lagging replica
+class ReplicaRoutingJpaTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        // the replica hasn't applied the last write yet
+        new JdbcTemplate(primary).execute("create table tasks (id bigint primary key)");
+        new JdbcTemplate(primary).execute("insert into tasks values (1), (2)");
+        new JdbcTemplate(replica).execute("create table tasks (id bigint primary key)");
+        new JdbcTemplate(replica).execute("insert into tasks values (1)");
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ZERO, 10);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(List.of(replica), primary,
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, tracker, 0, new SimpleMeterRegistry());
+        DataSource dataSource = new ReplicaRoutingConfig().dataSource(primary, routing, tracker);
+
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setPackagesToScan(ReplicaRoutingJpaTest.class.getPackageName());
+        entityManagerFactory.afterPropertiesSet();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+
+        readOnly = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory.getObject()));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+        primary.close();
+        replica.close();
+    }
+
+    private static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        // dropped when the pool closes its connections
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name);
+        return dataSource;
+    }
+
+    private long countTasks() {
+        return ((Number) entityManager.createNativeQuery("select count(*) from tasks").getSingleResult()).longValue();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromTheReplica() {
+        // 2. Act
+        long count = readOnly.execute(status -> countTasks());
+
+        // 3. Assert
+        assertEquals(1, count);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromThePrimary_WhenPinned() {
+        // 2. Act: as getTaskChanges / the ETag reads do
+        long count = PrimaryReads.call(() -> readOnly.execute(status -> countTasks()));
+
+        // 3. Assert
+        assertEquals(2, count);
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    void pinnedBody_ShouldReadFromThePrimary_WhenTheTransactionWasOpenedBefore() {
+        // 2. Act: @Transactional(readOnly = true) opens the transaction, the method body pins its reads
+        long count = readOnly.execute(status -> PrimaryReads.call(this::countTasks));
+
+        // 3. Assert: no connection was taken before the first statement
+        assertEquals(2, count);
+    }
+}
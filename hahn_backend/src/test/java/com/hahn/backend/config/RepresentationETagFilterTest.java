@@ -0,0 +1,94 @@
+package com.hahn.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Negotiation end to end: Spring MVC picks the converter from Accept, the filter tags and varies the response
+class RepresentationETagFilterTest {
+
+    private MockMvc mockMvc;
+
+    // a conditional GET, like the project / task GETs
+    @RestController
+    static class VersionedController {
+
+        @GetMapping("/api/things/1")
+        ResponseEntity<Map<String, String>> get(WebRequest webRequest) {
+            if (webRequest.checkNotModified("\"v1\"")) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag("\"v1\"").body(Map.of("title", "Website"));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ContentNegotiationConfig negotiation = new ContentNegotiationConfig();
+        mockMvc = MockMvcBuilders.standaloneSetup(new VersionedController())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(),
+                        negotiation.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        negotiation.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()))
+                .addFilters(new RepresentationETagFilter())
+                .build();
+    }
+
+    @Test
+    void get_ShouldTagEachRepresentation_AndVaryOnAccept() throws Exception {
+        // 2. Act & 3. Assert
+        mockMvc.perform(get("/api/things/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        MvcResult smile = mockMvc.perform(get("/api/things/1").accept(ContentNegotiationConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ContentNegotiationConfig.APPLICATION_SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1--smile\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+        mockMvc.perform(get("/api/things/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1--cbor\""));
+
+        assertEquals("Website", new ObjectMapper(new SmileFactory())
+                .readTree(smile.getResponse().getContentAsByteArray()).get("title").asText());
+    }
+
+    @Test
+    void conditionalGet_ShouldOnlyMatch_TheRepresentationTheClientWillGetAgain() throws Exception {
+        // 2. Act & 3. Assert: same type -> 304 with the tag the client holds
+        mockMvc.perform(get("/api/things/1").accept(ContentNegotiationConfig.APPLICATION_SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1--smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1--smile\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        // the Smile body can't answer a JSON request, nor the JSON one a CBOR request
+        mockMvc.perform(get("/api/things/1").accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1--smile\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+        mockMvc.perform(get("/api/things/1").accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1--cbor\""));
+    }
+}
@@ -0,0 +1,176 @@
+package com.hahn.backend.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressionFilterTest {
+
+    private static final String BODY = "[" + "{\"id\":1,\"title\":\"Task\"},".repeat(200) + "{}]";
+
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCompressionFilter();
+        ReflectionTestUtils.invokeMethod(filter, "init");
+    }
+
+    private static MockHttpServletRequest gzipRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        return request;
+    }
+
+    @Test
+    void doFilter_ShouldGzipJson_AndTagTheGzippedRepresentation() throws Exception {
+        // 1. Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // 2. Act
+        filter.doFilter(gzipRequest(), response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"v3-2.8.0\"");
+            res.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        });
+
+        // 3. Assert
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"v3-2.8.0--gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void doFilter_ShouldRemoveTheGzipSuffix_FromConditionalHeaders() throws Exception {
+        // 1. Arrange
+        MockHttpServletRequest request = gzipRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v3-2.8.0--gzip\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] seen = new String[1];
+
+        // 2. Act: the controller sees its own tag, answers 304
+        filter.doFilter(request, response, (req, res) -> {
+            seen[0] = ((HttpServletRequest) req).getHeader(HttpHeaders.IF_NONE_MATCH);
+            ((HttpServletResponse) res).setStatus(304);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"v3-2.8.0\"");
+        });
+
+        // 3. Assert: and the client gets back the tag it holds
+        assertEquals("\"v3-2.8.0\"", seen[0]);
+        assertEquals("\"v3-2.8.0--gzip\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void doFilter_ShouldLeaveTheResponseAlone_ForOtherTypesSmallBodiesOrNoGzip() throws Exception {
+        // 1. Arrange
+        MockHttpServletResponse csv = new MockHttpServletResponse();
+        MockHttpServletResponse small = new MockHttpServletResponse();
+        MockHttpServletResponse identity = new MockHttpServletResponse();
+        MockHttpServletRequest noGzip = new MockHttpServletRequest("GET", "/api/projects/1");
+        noGzip.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+
+        // 2. Act
+        filter.doFilter(gzipRequest(), csv, (req, res) -> {
+            res.setContentType("text/csv");
+            res.getWriter().write(BODY);
+        });
+        filter.doFilter(gzipRequest(), small, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write("[]");
+        });
+        filter.doFilter(noGzip, identity, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        });
+
+        // 3. Assert
+        assertNull(csv.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, csv.getContentAsString());
+        assertNull(small.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("[]", small.getContentAsString());
+        assertEquals(2, small.getContentLength());
+        assertNull(identity.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, identity.getContentAsString());
+    }
+
+    @Test
+    void doFilter_ShouldHandTheWriteListenerToTheResponse_AndStopBuffering() throws Exception {
+        // 1. Arrange: a container stream that accepts a WriteListener (MockHttpServletResponse's doesn't)
+        MockHttpServletResponse mock = new MockHttpServletResponse();
+        ListeningStream container = new ListeningStream(mock.getOutputStream());
+        HttpServletResponse response = new HttpServletResponseWrapper(mock) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return container;
+            }
+        };
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+
+        // 2. Act: some bytes buffered, then the non-blocking writer takes over
+        filter.doFilter(gzipRequest(), response, (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ServletOutputStream out = res.getOutputStream();
+            out.write("[".getBytes(StandardCharsets.UTF_8));
+            out.setWriteListener(listener);
+            out.write(BODY.substring(1).getBytes(StandardCharsets.UTF_8));
+        });
+
+        // 3. Assert: the container got the listener and the whole body, uncompressed
+        assertSame(listener, container.listener);
+        assertNull(mock.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, mock.getContentAsString());
+    }
+
+    private static final class ListeningStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private WriteListener listener;
+
+        ListeningStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+    }
+}
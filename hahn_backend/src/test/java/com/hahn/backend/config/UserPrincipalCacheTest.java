@@ -0,0 +1,87 @@
+package com.hahn.backend.config;
+
+import com.hahn.backend.entities.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserPrincipalCacheTest {
+
+    private static final String EMAIL = "salah@test.com";
+
+    private UserPrincipalCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, AuthenticatedUser> loader = email -> {
+        loads.incrementAndGet();
+        return AuthenticatedUser.of(User.builder().id(1L).email(email).password("hash").build());
+    };
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache();
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldLoadOnce_ThenServeTheCachedPrincipal() {
+        // 1. Act
+        AuthenticatedUser first = cache.get(EMAIL, loader);
+        AuthenticatedUser second = cache.get(EMAIL, loader);
+
+        // 2. Assert: one users query, and the shared principal carries no password hash
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertEquals(1L, first.id());
+        assertEquals(EMAIL, first.getUsername());
+        assertNull(first.getPassword());
+        assertThrows(UnsupportedOperationException.class, () -> first.getAuthorities().clear());
+    }
+
+    @Test
+    void evict_ShouldReloadThePrincipal() {
+        // 1. Arrange
+        cache.get(EMAIL, loader);
+
+        // 2. Act
+        cache.evict(EMAIL);
+        cache.get(EMAIL, loader);
+
+        // 3. Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_ShouldEvictAgainAfterCommit_WhatWasCachedDuringTheTransaction() {
+        // 1. Arrange: evict inside a transaction, then a concurrent request re-caches the old row before the commit
+        TransactionSynchronizationManager.initSynchronization();
+        cache.get(EMAIL, loader);
+        cache.evict(EMAIL);
+        cache.get(EMAIL, loader);
+
+        // 2. Act: commit
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        cache.get(EMAIL, loader);
+
+        // 3. Assert: the principal loaded after the commit is a fresh one
+        assertEquals(3, loads.get());
+    }
+}
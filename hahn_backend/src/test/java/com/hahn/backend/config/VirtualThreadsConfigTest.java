@@ -0,0 +1,23 @@
+package com.hahn.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadsConfigTest {
+
+    @Test
+    void requireJavaVersion_ShouldFailFast_BeforeJava21() {
+        // 2. Act & 3. Assert
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> VirtualThreadsConfig.requireJavaVersion(17));
+        assertTrue(e.getMessage().contains("Java 17"));
+    }
+
+    @Test
+    void requireJavaVersion_ShouldAccept_Java21AndLater() {
+        // 2. Act & 3. Assert
+        assertDoesNotThrow(() -> VirtualThreadsConfig.requireJavaVersion(21));
+        assertDoesNotThrow(() -> VirtualThreadsConfig.requireJavaVersion(25));
+    }
+}
@@ -0,0 +1,115 @@
+package com.hahn.backend.controllers;
+
+import com.hahn.backend.config.PrimaryReads;
+import com.hahn.backend.dto.response.CursorPage;
+import com.hahn.backend.exceptions.AccessDeniedException;
+import com.hahn.backend.exceptions.GlobalExceptionHandler;
+import com.hahn.backend.exceptions.ResourceNotFoundException;
+import com.hahn.backend.services.OwnershipService;
+import com.hahn.backend.services.RequestCoalescer;
+import com.hahn.backend.services.TaskService;
+import com.hahn.backend.util.ResourceVersion;
+import com.hahn.backend.util.TaskExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private RequestCoalescer coalescer;
+    @Mock
+    private OwnershipService ownershipService;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exportTasks_ShouldAnswer403AsJson_WhenUserIsNotOwner() throws Exception {
+        // 1. Arrange
+        doThrow(new AccessDeniedException("You are not authorized to export these tasks"))
+                .when(ownershipService).checkProjectOwner(eq(9L), eq("salah@test.com"), anyString());
+
+        // 2. Act + 3. Assert: not a 500 from a JSON body under a text/csv content type
+        mockMvc.perform(get("/api/projects/9/tasks/export").param("format", "csv").principal(() -> "salah@test.com"))
+                .andExpect(status().isForbidden())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(403))
+                .andExpect(header().doesNotExist("Content-Disposition"));
+        verify(taskService, never()).exportTasks(any(), any(), any());
+    }
+
+    @Test
+    void exportTasks_ShouldAnswer404AsJson_WhenProjectDoesNotExist() throws Exception {
+        // 1. Arrange
+        doThrow(new ResourceNotFoundException("Project not found with id: 9"))
+                .when(ownershipService).checkProjectOwner(eq(9L), eq("salah@test.com"), anyString());
+
+        // 2. Act + 3. Assert
+        mockMvc.perform(get("/api/projects/9/tasks/export").param("format", "ndjson").principal(() -> "salah@test.com"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Project not found with id: 9"));
+        verify(taskService, never()).exportTasks(any(), any(), any());
+    }
+
+    @Test
+    void exportTasks_ShouldStreamTheFile_WhenUserIsOwner() throws Exception {
+        // 2. Act + 3. Assert
+        mockMvc.perform(get("/api/projects/9/tasks/export").param("format", "csv").principal(() -> "salah@test.com"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"project-9-tasks.csv\""));
+        verify(ownershipService).checkProjectOwner(eq(9L), eq("salah@test.com"), anyString());
+        verify(taskService).exportTasks(eq(9L), eq(TaskExportFormat.CSV), any());
+    }
+
+    @Test
+    void getTasksByProjectAfterCursor_ShouldReadTheBodyFromThePrimary_LikeItsETag() throws Exception {
+        // 1. Arrange: the body must not come from a replica older than the version
+        when(taskService.getTasksVersion(9L, "salah@test.com"))
+                .thenReturn(new ResourceVersion("\"v1\"", LocalDateTime.of(2026, 1, 1, 0, 0)));
+        when(taskService.getTasksByProjectAfterCursor(eq(9L), any(), any(), any(), anyInt(), any(), eq("salah@test.com")))
+                .thenAnswer(call -> {
+                    assertTrue(PrimaryReads.isPinned());
+                    return CursorPage.builder().content(List.of()).size(5).build();
+                });
+
+        // 2. Act + 3. Assert
+        mockMvc.perform(get("/api/projects/9/tasks/cursor").principal(() -> "salah@test.com"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""));
+        assertFalse(PrimaryReads.isPinned());
+    }
+}
@@ -0,0 +1,80 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.entities.Project;
+import com.hahn.backend.entities.ProjectTaskVersion;
+import com.hahn.backend.entities.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// A native statement without synchronized spaces makes Hibernate evict every second-level cache region
+// and query cache: each one must name the entities of the tables it writes, and only those
+class NativeStatementSpacesTest {
+
+    private EntityManager entityManager;
+    private NativeQuery<?> nativeQuery;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        nativeQuery = mock(NativeQuery.class, RETURNS_SELF);
+        Query query = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.unwrap(NativeQuery.class)).thenReturn(nativeQuery);
+        when(nativeQuery.executeUpdate()).thenReturn(1);
+    }
+
+    @Test
+    void deleteRowById_ShouldOnlyInvalidateProjectsAndTheirTaskVersions() {
+        // 2. Act
+        int deleted = new ProjectDeletionStatementsImpl(entityManager).deleteRowById(1L);
+
+        // 3. Assert
+        assertEquals(1, deleted);
+        verify(nativeQuery).addSynchronizedEntityClass(Project.class);
+        verify(nativeQuery).addSynchronizedEntityClass(ProjectTaskVersion.class);
+        verify(nativeQuery, times(2)).addSynchronizedEntityClass(any());
+    }
+
+    @Test
+    void markDeleted_ShouldOnlyInvalidateProjects() {
+        // 2. Act
+        new ProjectDeletionStatementsImpl(entityManager).markDeleted(1L);
+
+        // 3. Assert
+        verify(nativeQuery).addSynchronizedEntityClass(Project.class);
+        verify(nativeQuery, times(1)).addSynchronizedEntityClass(any());
+    }
+
+    @Test
+    void purgeClaims_ShouldOnlyInvalidateProjects() {
+        // 2. Act
+        ProjectDeletionStatementsImpl statements = new ProjectDeletionStatementsImpl(entityManager);
+        statements.claimPurge(1L, "instance", LocalDateTime.now(), LocalDateTime.now().minusMinutes(5));
+        statements.renewPurgeClaim(1L, "instance", LocalDateTime.now());
+
+        // 3. Assert
+        verify(nativeQuery, times(2)).addSynchronizedEntityClass(Project.class);
+        verify(nativeQuery, times(2)).addSynchronizedEntityClass(any());
+    }
+
+    @Test
+    void deleteChunkByProjectId_ShouldOnlyInvalidateTasks() {
+        // 2. Act
+        new TaskPurgeStatementsImpl(entityManager).deleteChunkByProjectId(1L, 500);
+
+        // 3. Assert
+        verify(nativeQuery).addSynchronizedEntityClass(Task.class);
+        verify(nativeQuery, times(1)).addSynchronizedEntityClass(any());
+        verify(nativeQuery).setParameter("limit", 500);
+    }
+}
@@ -0,0 +1,250 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.entities.TaskStatus;
+import com.hahn.backend.util.FullTextSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs EXPLAIN on the hot queries against a real MySQL built by the Flyway migrations: the SQL and parameters
+// the repositories send (StatementCapture), fails if one of them falls back to a full table scan or a filesort.
+// Needs Docker, skipped otherwise.
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@Import(RepositoryQueryPlanTest.StatementCapture.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // ANALYZE TABLE commits anyway: seed once, for all tests
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final List<Executed> EXECUTED = new CopyOnWriteArrayList<>();
+
+    record Executed(String sql, List<Object> parameters) {
+    }
+
+    // Records every prepared statement with its bound parameters: the plans below are the ones of the SQL Hibernate
+    // actually sends, not of a hand-written copy
+    @TestConfiguration
+    static class StatementCapture {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return capturing(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                return method.getName().equals("prepareStatement")
+                        ? capturing((PreparedStatement) result, (String) args[0])
+                        : result;
+            });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute")) {
+                    EXECUTED.add(new Executed(sql, new ArrayList<>(parameters.values())));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private static long userId;
+    private static long projectId;
+
+    @BeforeEach
+    void seed() {
+        if (projectId != 0) {
+            return;
+        }
+
+        // Enough rows for the optimizer to prefer an index over a scan
+        for (int u = 0; u < 20; u++) {
+            jdbcTemplate.update("INSERT INTO users (email, password, username) VALUES (?, 'x', ?)",
+                    "user" + u + "@test.com", "user" + u);
+        }
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'user0@test.com'", Long.class);
+
+        List<Object[]> projects = new ArrayList<>();
+        for (int p = 0; p < 200; p++) {
+            projects.add(new Object[]{"Project " + p, userId + (p % 20)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO projects (title, user_id, created_at) VALUES (?, ?, NOW(6))", projects);
+        projectId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM projects", Long.class);
+
+        List<Object[]> tasks = new ArrayList<>();
+        String[] statuses = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+        for (int t = 0; t < 5000; t++) {
+            tasks.add(new Object[]{t + 1, "Task " + t + " fix api bug", "details of task " + t,
+                    statuses[t % 3], Date.valueOf(LocalDate.of(2026, 1, 1).plusDays(t % 365)),
+                    projectId + (t % 200)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, due_date, project_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", tasks);
+
+        jdbcTemplate.execute("ANALYZE TABLE users, projects, tasks");
+    }
+
+    @Test
+    void findByEmail_ShouldUseUniqueIndex() {
+        Map<String, Object> plan = explain(() -> userRepository.findByEmail("user3@test.com"));
+
+        assertEquals("ux_users_email", plan.get("key"));
+        assertEquals("const", plan.get("type"));
+    }
+
+    @Test
+    void projectsOfUser_ShouldNotScanTheTable() {
+        Map<String, Object> plan = explain(() -> projectRepository.findSummariesByUserId(userId, false));
+
+        assertUsesIndex(plan);
+        assertEquals("idx_projects_user_created", plan.get("key"));
+    }
+
+    @Test
+    void tasksOfProject_ShouldNotScanTheTable() {
+        assertUsesIndex(explain(() -> taskRepository.findDtosByProjectId(projectId, false)));
+    }
+
+    @Test
+    void keysetPage_ShouldReadTheIndexInOrder() {
+        // with the "OR due_date IS NULL" tail and the unused (:title IS NULL OR ...) / (:status IS NULL OR ...) filters
+        Map<String, Object> plan = explain(() -> taskRepository.findKeysetPageAfter(
+                projectId, null, null, LocalDate.of(2026, 6, 1), 1000L, PageRequest.of(0, 21), false));
+
+        assertUsesIndex(plan);
+        assertEquals("idx_tasks_project_due_id", plan.get("key"));
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void keysetPage_ShouldReadTheIndexInOrder_WhenFilteredByTitle() {
+        Map<String, Object> plan = explain(() -> taskRepository.findKeysetPageAfter(
+                projectId, "api", null, LocalDate.of(2026, 6, 1), 1000L, PageRequest.of(0, 21), false));
+
+        assertUsesIndex(plan);
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void statusFilter_ShouldUseProjectStatusIndex() {
+        // as TaskServiceImpl.getTasksByProjectWithFilters pages it
+        Map<String, Object> plan = explain(() -> taskRepository.findByProjectIdAndFilters(
+                projectId, null, TaskStatus.PENDING, PageRequest.of(0, 20, Sort.by("dueDate").descending()), false));
+
+        assertEquals("idx_tasks_project_status_due", plan.get("key"));
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void search_ShouldUseFullTextIndex() {
+        Map<String, Object> plan = explain(() -> taskRepository.searchByProjectId(
+                projectId, FullTextSearch.toBooleanModeQuery("api bug"), null, PageRequest.of(0, 20), false));
+
+        assertEquals("fulltext", plan.get("type"));
+        assertEquals("ft_tasks_title_description", plan.get("key"));
+    }
+
+    // EXPLAIN of the first statement the repository call sends, as Hibernate generated and bound it
+    private Map<String, Object> explain(Runnable repositoryCall) {
+        EXECUTED.clear();
+        repositoryCall.run();
+        assertFalse(EXECUTED.isEmpty(), "no statement sent");
+        Executed statement = EXECUTED.get(0);
+        return jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters().toArray()).get(0);
+    }
+
+    private static void assertUsesIndex(Map<String, Object> plan) {
+        assertNotNull(plan.get("key"), "no index used: " + plan);
+        assertNotEquals("ALL", plan.get("type"), "full table scan: " + plan);
+    }
+
+    private static void assertNoFilesort(Map<String, Object> plan) {
+        Object extra = plan.get("Extra");
+        assertFalse(extra != null && extra.toString().contains("Using filesort"), "filesort: " + plan);
+    }
+}
@@ -0,0 +1,34 @@
+package com.hahn.backend.repositories;
+
+import com.hahn.backend.entities.Task;
+import jakarta.persistence.SequenceGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdSequenceMigrationTest {
+
+    private static final Pattern SEED = Pattern.compile("coalesce\\(max\\(id\\),\\s*0\\)\\s*\\+\\s*(\\d+)\\s+from tasks");
+
+    @Test
+    void sequenceSeed_ShouldLeaveAWholeBlockAboveTheBiggestExistingId() throws Exception {
+        // 1. Arrange
+        // The pooled optimizer hands out (next_val - allocationSize, next_val]: a seed below MAX(id) + allocationSize
+        // gives ids that already exist
+        String migration = new ClassPathResource("db/migration/V2__task_id_sequence.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        int allocationSize = Task.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class).allocationSize();
+
+        // 2. Act
+        Matcher seed = SEED.matcher(migration);
+
+        // 3. Assert
+        assertTrue(seed.find(), "tasks_seq seed not found in V2__task_id_sequence.sql");
+        assertEquals(allocationSize, Integer.parseInt(seed.group(1)));
+    }
+}
@@ -5,17 +5,23 @@ import com.hahn.backend.dto.request.RegisterRequest;
 import com.hahn.backend.dto.response.AuthResponse;
 import com.hahn.backend.dto.response.UserDto;
 import com.hahn.backend.entities.User;
+import com.hahn.backend.exceptions.UserAlreadyExistsException;
 import com.hahn.backend.repositories.UserRepository;
 import com.hahn.backend.util.EntityMapper;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.userdetails.UserDetails; // <--- Import this
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.util.Date;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +41,8 @@ class AuthServiceImplTest {
     private AuthenticationManager authenticationManager;
     @Mock
     private EntityMapper mapper;
+    @Mock
+    private TokenRevocationService revocationService;
 
     @InjectMocks
     private AuthServiceImpl authService;
@@ -46,9 +54,8 @@ class AuthServiceImplTest {
         User savedUser = User.builder().id(1L).email("salah@test.com").build();
         UserDto userDto = UserDto.builder().id(1L).email("salah@test.com").build();
 
-        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPass");
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
 
         // FIX: Match any UserDetails object, not String
         when(jwtService.generateToken(any(UserDetails.class))).thenReturn("jwt_token_123");
@@ -61,7 +68,42 @@ class AuthServiceImplTest {
         // 3. Assert
         assertNotNull(response);
         assertEquals("jwt_token_123", response.getToken());
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        // Duplicates are caught by the unique index, no lookup before the insert
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void register_ShouldThrowUserAlreadyExists_WhenEmailIsTaken() {
+        // 1. Arrange
+        RegisterRequest request = new RegisterRequest("salah", "password123", "salah@test.com");
+
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPass");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("Duplicate entry 'salah@test.com' for key 'users.ux_users_email'", "23000", 1062),
+                                "insert into users ...", "users.ux_users_email")));
+
+        // 2. Act & 3. Assert
+        assertThrows(UserAlreadyExistsException.class, () -> authService.register(request));
+        verify(jwtService, never()).generateToken(any(UserDetails.class));
+    }
+
+    @Test
+    void register_ShouldRethrow_OtherConstraintViolations() {
+        // 1. Arrange: not a duplicate email, e.g. a column too long for its type
+        RegisterRequest request = new RegisterRequest("salah", "password123", "salah@test.com");
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("Data too long for column 'username' at row 1", "22001", 1406),
+                        "insert into users ...", null));
+
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPass");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation);
+
+        // 2. Act & 3. Assert: a 500, not a misleading "already exists"
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> authService.register(request)));
     }
 
     @Test
@@ -91,4 +133,29 @@ class AuthServiceImplTest {
         assertEquals("jwt_token_456", response.getToken());
         verify(authenticationManager).authenticate(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void logout_ShouldRevokeTheBearerToken() {
+        // 1. Arrange
+        JwtService.VerifiedToken token = new JwtService.VerifiedToken("salah@test.com", new Date(), "jti-1", new Date());
+        when(jwtService.verifyToken("jwt_token_123")).thenReturn(token);
+
+        // 2. Act
+        authService.logout("Bearer jwt_token_123");
+
+        // 3. Assert
+        verify(revocationService).revoke(token);
+    }
+
+    @Test
+    void logout_ShouldDoNothing_WhenTheTokenIsAlreadyExpired() {
+        // 1. Arrange
+        when(jwtService.verifyToken("expired")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        // 2. Act
+        authService.logout("Bearer expired");
+
+        // 3. Assert
+        verifyNoInteractions(revocationService);
+    }
+}
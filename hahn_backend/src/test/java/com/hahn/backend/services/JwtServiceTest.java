@@ -0,0 +1,86 @@
+package com.hahn.backend.services;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private final UserDetails user = new User("salah@test.com", "encodedPass", new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(86_400_000L);
+    }
+
+    @Test
+    void verifyToken_ShouldReturnSubjectAndExpiry_InOneParse() {
+        String token = jwtService.generateToken(user);
+
+        JwtService.VerifiedToken verified = jwtService.verifyToken(token);
+
+        assertEquals("salah@test.com", verified.username());
+        assertNotNull(verified.expiration());
+        assertTrue(jwtService.isTokenValid(verified, user));
+    }
+
+    @Test
+    void verifyToken_ShouldServeRepeatCallsFromCache() {
+        String token = jwtService.generateToken(user);
+
+        JwtService.VerifiedToken first = jwtService.verifyToken(token);
+        JwtService.VerifiedToken second = jwtService.verifyToken(token);
+
+        // Same instance = the second call skipped the HMAC verification
+        assertSame(first, second);
+    }
+
+    @Test
+    void generateToken_ShouldGiveEachTokenItsOwnId() {
+        JwtService.VerifiedToken first = jwtService.verifyToken(jwtService.generateToken(user));
+        JwtService.VerifiedToken second = jwtService.verifyToken(jwtService.generateToken(user));
+
+        // jti + iat: what TokenRevocationService checks
+        assertNotNull(first.id());
+        assertNotNull(first.issuedAt());
+        assertNotEquals(first.id(), second.id());
+    }
+
+    @Test
+    void verifyToken_ShouldReadTheIssueTime_ToTheMillisecond() {
+        // 2. Act
+        long before = System.currentTimeMillis();
+        JwtService.VerifiedToken token = jwtService.verifyToken(jwtService.generateToken(user));
+        long after = System.currentTimeMillis();
+
+        // 3. Assert: iat alone would be rounded down to the second
+        assertTrue(token.issuedAt().getTime() >= before && token.issuedAt().getTime() <= after);
+    }
+
+    @Test
+    void verifyToken_ShouldRejectExpiredToken() {
+        JwtService shortLived = newJwtService(-1_000L);
+        String token = shortLived.generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> shortLived.verifyToken(token));
+    }
+
+    private JwtService newJwtService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", 100L);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.exceptions.AccessDeniedException;
+import com.hahn.backend.exceptions.ResourceNotFoundException;
+import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OwnershipServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private OwnershipService ownershipService;
+
+    private final String email = "salah@test.com";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ownershipService, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(ownershipService, "maxSize", 100L);
+        ownershipService.init();
+    }
+
+    @Test
+    void checkProjectOwner_ShouldHitTheDbOnce_ForRepeatedChecks() {
+        when(projectRepository.findIdsByUserEmail(email)).thenReturn(List.of(1L, 2L));
+
+        ownershipService.checkProjectOwner(1L, email, "denied");
+        ownershipService.checkProjectOwner(2L, email, "denied");
+
+        // Owned ids are loaded once, then served from the cache
+        verify(projectRepository, times(1)).findIdsByUserEmail(email);
+        verify(projectRepository, never()).existsByIdAndUserEmail(any(), any());
+    }
+
+    @Test
+    void checkProjectOwner_ShouldThrowAccessDenied_WhenProjectBelongsToSomeoneElse() {
+        when(projectRepository.findIdsByUserEmail(email)).thenReturn(List.of());
+        when(projectRepository.existsByIdAndUserEmail(5L, email)).thenReturn(false);
+        when(projectRepository.existsById(5L)).thenReturn(true);
+
+        assertThrows(AccessDeniedException.class, () -> ownershipService.checkProjectOwner(5L, email, "denied"));
+    }
+
+    @Test
+    void checkTaskOwner_ShouldThrowNotFound_WhenTaskDoesNotExist() {
+        when(taskRepository.findProjectIdById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> ownershipService.checkTaskOwner(99L, email, "denied"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.hahn.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.controllers.ProjectController;
+import com.hahn.backend.dto.event.ProjectEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// The broker behind a real SSE response (GET /api/projects/{id}/events), the drain tasks run when the test says so
+@ExtendWith(MockitoExtension.class)
+class ProjectEventBrokerTest {
+
+    @Mock
+    private OwnershipService ownershipService;
+    @Mock
+    private ProjectService projectService;
+    @Mock
+    private RequestCoalescer coalescer;
+    @Mock
+    private ProjectListCache projectListCache;
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final Queue<Runnable> pendingDrains = new ArrayDeque<>();
+
+    private ProjectEventBroker broker;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        broker = new ProjectEventBroker(ownershipService, objectMapper);
+        ReflectionTestUtils.setField(broker, "sender", (Executor) pendingDrains::add);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new ProjectController(projectService, broker, coalescer, projectListCache)).build();
+    }
+
+    @Test
+    void publish_ShouldFanOutToTheSubscribersOfTheProject_SerializingOnce() throws Exception {
+        // 1. Arrange
+        MvcResult first = subscribe(1L);
+        MvcResult second = subscribe(1L);
+        MvcResult otherProject = subscribe(2L);
+        runDrains();
+
+        // 2. Act
+        broker.publish(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_CREATED, 1L, List.of(5L)));
+        runDrains();
+
+        // 3. Assert
+        assertTrue(body(first).contains("event:TASK_CREATED\ndata:{\"type\":\"TASK_CREATED\",\"projectId\":1,\"taskIds\":[5]}"));
+        assertTrue(body(second).contains("event:TASK_CREATED"));
+        assertFalse(body(otherProject).contains("TASK_CREATED"));
+        verify(objectMapper, times(1)).writeValueAsString(any());
+    }
+
+    @Test
+    void publish_ShouldQueueEvents_AndDrainThemInOrderFromASingleTask() throws Exception {
+        // 1. Arrange
+        MvcResult subscriber = subscribe(1L);
+        runDrains();
+
+        // 2. Act: three events before the executor gets to the subscriber
+        broker.publish(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_CREATED, 1L, List.of(5L)));
+        broker.publish(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_UPDATED, 1L, List.of(5L)));
+        broker.publish(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_DELETED, 1L, List.of(5L)));
+
+        // 3. Assert: one drain for the three, which writes them in publication order
+        assertEquals(1, pendingDrains.size());
+        runDrains();
+        String body = body(subscriber);
+        int created = body.indexOf("event:TASK_CREATED");
+        int updated = body.indexOf("event:TASK_UPDATED");
+        int deleted = body.indexOf("event:TASK_DELETED");
+        assertTrue(created >= 0 && created < updated && updated < deleted);
+    }
+
+    @Test
+    void publish_ShouldDisconnectASubscriber_ThatFallsBehindTheBuffer() throws Exception {
+        // 1. Arrange: room for "connected" + 1 event, the executor never gets to it
+        ReflectionTestUtils.setField(broker, "bufferSize", 2);
+        MvcResult subscriber = subscribe(1L);
+
+        // 2. Act
+        broker.publish(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_CREATED, 1L, List.of(5L)));
+        broker.publish(ProjectEvent.ofTasks(ProjectEvent.Type.TASK_UPDATED, 1L, List.of(5L)));
+
+        // 3. Assert: the response is completed, the client reconnects and catches up with the delta sync
+        assertEquals(0, broker.subscriberCount());
+        assertDoesNotThrow(() -> subscriber.getAsyncResult(1000));
+    }
+
+    @Test
+    void heartbeat_ShouldOnlyBeSentToIdleSubscribers() throws Exception {
+        // 1. Arrange: one subscriber with nothing to send, one with an event still queued
+        MvcResult idle = subscribe(1L);
+        MvcResult busy = subscribe(2L);
+        runDrains();
+        broker.publish(ProjectEvent.ofProject(ProjectEvent.Type.PROJECT_UPDATED, 2L));
+
+        // 2. Act
+        broker.heartbeat();
+        runDrains();
+
+        // 3. Assert
+        assertTrue(body(idle).contains(":heartbeat"));
+        assertFalse(body(busy).contains(":heartbeat"));
+        assertTrue(body(busy).contains("event:PROJECT_UPDATED"));
+    }
+
+    @Test
+    void publish_ShouldCompleteTheStream_WhenTheProjectIsDeleted() throws Exception {
+        // 1. Arrange
+        MvcResult subscriber = subscribe(1L);
+        runDrains();
+
+        // 2. Act
+        broker.publish(ProjectEvent.ofProject(ProjectEvent.Type.PROJECT_DELETED, 1L));
+        runDrains();
+
+        // 3. Assert: the last event is sent, then the response is completed
+        assertTrue(body(subscriber).contains("event:PROJECT_DELETED"));
+        assertDoesNotThrow(() -> subscriber.getAsyncResult(1000));
+        assertEquals(0, broker.subscriberCount());
+    }
+
+    @Test
+    void subscribe_ShouldDisconnect_WhenNoSenderThreadIsLeft() throws Exception {
+        // 1. Arrange: every sender thread busy, the backlog full
+        ReflectionTestUtils.setField(broker, "sender", (Executor) drain -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        // 2. Act
+        MvcResult subscriber = subscribe(1L);
+
+        // 3. Assert
+        assertEquals(0, broker.subscriberCount());
+        assertDoesNotThrow(() -> subscriber.getAsyncResult(1000));
+    }
+
+    @Test
+    void heartbeat_ShouldDisconnectASubscriber_WhoseSendIsBlocked() throws Exception {
+        // 1. Arrange: a send started 11 s ago and still running (timeout 10 s)
+        MvcResult subscriber = subscribe(1L);
+        runDrains();
+        ReflectionTestUtils.setField(onlySubscriber(1L), "sendStartedAt", System.nanoTime() - 11_000_000_000L);
+
+        // 2. Act
+        broker.heartbeat();
+
+        // 3. Assert: out of the fan-out, and the response is ended
+        assertEquals(0, broker.subscriberCount());
+        assertDoesNotThrow(() -> subscriber.getAsyncResult(1000));
+        assertFalse(body(subscriber).contains(":heartbeat"));
+    }
+
+    private MvcResult subscribe(Long projectId) throws Exception {
+        return mockMvc.perform(get("/api/projects/{id}/events", projectId).principal(() -> "salah@test.com"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    // a drain can schedule the next one (message added while it was finishing)
+    private void runDrains() {
+        Runnable drain;
+        while ((drain = pendingDrains.poll()) != null) {
+            drain.run();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object onlySubscriber(Long projectId) {
+        Map<Long, Set<Object>> subscribers =
+                (Map<Long, Set<Object>>) ReflectionTestUtils.getField(broker, "subscribersByProject");
+        return subscribers.get(projectId).iterator().next();
+    }
+
+    private static String body(MvcResult result) throws Exception {
+        return result.getResponse().getContentAsString();
+    }
+}
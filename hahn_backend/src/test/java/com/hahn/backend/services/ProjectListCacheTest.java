@@ -0,0 +1,126 @@
+package com.hahn.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.config.PrimaryReads;
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.util.ResourceVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectListCacheTest {
+
+    private static final String EMAIL = "salah@test.com";
+    private static final ResourceVersion VERSION = new ResourceVersion("\"v1\"", LocalDateTime.of(2026, 1, 1, 12, 0));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private InJvmCacheInvalidationBroadcaster broadcaster;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new InJvmCacheInvalidationBroadcaster();
+        meterRegistry = new SimpleMeterRegistry();
+        loads = new AtomicInteger();
+    }
+
+    private ProjectListCache newInstance() {
+        ProjectListCache cache = new ProjectListCache(objectMapper, broadcaster, meterRegistry);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    private Supplier<List<ProjectDto>> projects(String title) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(ProjectDto.builder().id(1L).title(title).build());
+        };
+    }
+
+    @Test
+    void get_ShouldServeTheSerializedList_UntilEvicted() throws Exception {
+        // 1. Arrange
+        ProjectListCache cache = newInstance();
+
+        // 2. Act
+        ProjectListCache.Entry first = cache.get(EMAIL, () -> VERSION, projects("Website"));
+        ProjectListCache.Entry hit = cache.get(EMAIL, () -> VERSION, projects("Website"));
+        cache.evict(EMAIL);
+        ProjectListCache.Entry reloaded = cache.get(EMAIL, () -> VERSION, projects("Renamed"));
+
+        // 3. Assert
+        assertSame(first, hit);
+        assertEquals("\"v1\"", first.eTag());
+        assertEquals("Website", objectMapper.readTree(first.json()).get(0).get("title").asText());
+        assertEquals("Renamed", objectMapper.readTree(reloaded.json()).get(0).get("title").asText());
+        assertEquals(2, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "projectList").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_ShouldNotCache_AListLoadedWhileItWasEvicted() {
+        // 1. Arrange: a write commits while this request is reading the old list
+        ProjectListCache cache = newInstance();
+        Supplier<List<ProjectDto>> loadedDuringWrite = () -> {
+            cache.evict(EMAIL);
+            return projects("Old").get();
+        };
+
+        // 2. Act
+        cache.get(EMAIL, () -> VERSION, loadedDuringWrite);
+        cache.get(EMAIL, () -> VERSION, projects("New"));
+
+        // 3. Assert: the second call reloaded, the old list was never served from the cache
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldLoadFromThePrimary() {
+        // 1. Arrange: what a replica returns may be older than the last write
+        ProjectListCache cache = newInstance();
+        AtomicInteger pinnedReads = new AtomicInteger();
+        Supplier<ResourceVersion> version = () -> {
+            if (PrimaryReads.isPinned()) pinnedReads.incrementAndGet();
+            return VERSION;
+        };
+        Supplier<List<ProjectDto>> projects = () -> {
+            if (PrimaryReads.isPinned()) pinnedReads.incrementAndGet();
+            return projects("Website").get();
+        };
+
+        // 2. Act
+        cache.get(EMAIL, version, projects);
+
+        // 3. Assert
+        assertEquals(2, pinnedReads.get());
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    void evict_ShouldInvalidateTheOtherInstances() {
+        // 1. Arrange: two instances sharing the broadcaster
+        ProjectListCache node1 = newInstance();
+        ProjectListCache node2 = newInstance();
+        node1.get(EMAIL, () -> VERSION, projects("Website"));
+        node2.get(EMAIL, () -> VERSION, projects("Website"));
+        node2.get("other@test.com", () -> VERSION, projects("Other"));
+
+        // 2. Act
+        node1.evict(EMAIL);
+        node2.get(EMAIL, () -> VERSION, projects("Renamed"));
+        node2.get("other@test.com", () -> VERSION, projects("Other"));
+
+        // 3. Assert: only the evicted user is reloaded
+        assertEquals(4, loads.get());
+    }
+}
@@ -0,0 +1,97 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProjectPurgeWorkerTest {
+
+    private TaskRepository taskRepository;
+    private ProjectRepository projectRepository;
+    private ProjectPurgeWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        projectRepository = mock(ProjectRepository.class);
+        worker = new ProjectPurgeWorker(taskRepository, projectRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(worker, "chunkSize", 2);
+    }
+
+    @Test
+    void purge_ShouldDeleteInChunks_WhenTheClaimIsWon() {
+        // 1. Arrange
+        when(projectRepository.claimPurge(eq(1L), anyString(), any(), any())).thenReturn(1);
+        when(projectRepository.renewPurgeClaim(eq(1L), anyString(), any())).thenReturn(1);
+        when(taskRepository.deleteChunkByProjectId(1L, 2)).thenReturn(2, 1, 0);
+
+        // 2. Act
+        worker.purge(1L);
+
+        // 3. Assert: the lease is renewed with every chunk, the project row goes last
+        verify(taskRepository, times(3)).deleteChunkByProjectId(1L, 2);
+        verify(projectRepository, times(4)).renewPurgeClaim(eq(1L), anyString(), any());
+        verify(projectRepository).deleteRowById(1L);
+    }
+
+    @Test
+    void resumePendingPurges_ShouldSkipProjects_ClaimedByAnotherInstance() {
+        // 1. Arrange: project 1 is being purged elsewhere
+        when(projectRepository.findIdsPendingPurge()).thenReturn(List.of(1L, 2L));
+        when(projectRepository.claimPurge(eq(1L), anyString(), any(), any())).thenReturn(0);
+        when(projectRepository.claimPurge(eq(2L), anyString(), any(), any())).thenReturn(1);
+        when(projectRepository.renewPurgeClaim(eq(2L), anyString(), any())).thenReturn(1);
+
+        // 2. Act
+        worker.resumePendingPurges();
+
+        // 3. Assert
+        verify(taskRepository, never()).deleteChunkByProjectId(eq(1L), anyInt());
+        verify(projectRepository, never()).deleteRowById(1L);
+        verify(projectRepository).deleteRowById(2L);
+    }
+
+    @Test
+    void purge_ShouldTakeOverAClaim_OnlyOnceItsLeaseHasExpired() {
+        // 1. Arrange
+        ReflectionTestUtils.setField(worker, "claimTimeoutSeconds", 300L);
+        when(projectRepository.claimPurge(eq(1L), anyString(), any(), any())).thenReturn(0);
+
+        // 2. Act
+        worker.purge(1L);
+
+        // 3. Assert: staleBefore = now - timeout
+        verify(projectRepository).claimPurge(eq(1L), anyString(),
+                argThat(now -> now.isAfter(LocalDateTime.now().minusSeconds(5))),
+                argThat(staleBefore -> staleBefore.isBefore(LocalDateTime.now().minusSeconds(295))));
+    }
+
+    @Test
+    void purge_ShouldStop_WhenTheClaimIsLost() {
+        // 1. Arrange: the lease expired and another instance took the purge over after the first chunk
+        when(projectRepository.claimPurge(eq(1L), anyString(), any(), any())).thenReturn(1);
+        when(projectRepository.renewPurgeClaim(eq(1L), anyString(), any())).thenReturn(1, 0);
+        when(taskRepository.deleteChunkByProjectId(1L, 2)).thenReturn(2);
+
+        // 2. Act
+        worker.purge(1L);
+
+        // 3. Assert
+        verify(taskRepository, times(1)).deleteChunkByProjectId(1L, 2);
+        verify(projectRepository, never()).deleteRowById(any());
+    }
+}
@@ -1,24 +1,37 @@
 package com.hahn.backend.services;
 
+import com.hahn.backend.dto.projection.ProjectSummary;
+import com.hahn.backend.dto.projection.ProjectTaskStats;
+import com.hahn.backend.dto.projection.VersionStamp;
 import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.entities.Project;
+import com.hahn.backend.entities.TaskStatus;
 import com.hahn.backend.entities.User;
 import com.hahn.backend.exceptions.AccessDeniedException;
 import com.hahn.backend.exceptions.ResourceNotFoundException;
 import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.ProjectTaskVersionRepository;
+import com.hahn.backend.repositories.TaskRepository;
 import com.hahn.backend.repositories.UserRepository;
 import com.hahn.backend.util.EntityMapper;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.Versioned;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +40,21 @@ class ProjectServiceImplTest {
     @Mock
     private ProjectRepository projectRepository;
     @Mock
+    private TaskRepository taskRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private EntityMapper mapper;
+    @Mock
+    private OwnershipService ownershipService;
+    @Mock
+    private ProjectPurgeWorker purgeWorker;
+    @Mock
+    private ProjectListCache projectListCache;
+    @Mock
+    private ProjectTaskVersionRepository projectTaskVersionRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProjectServiceImpl projectService;
@@ -39,37 +64,105 @@ class ProjectServiceImplTest {
         // 1. Arrange
         String email = "salah@test.com";
         User user = User.builder().id(1L).email(email).build();
-        Project project = Project.builder().id(10L).user(user).title("Test Project").build();
+        ProjectSummary project = mock(ProjectSummary.class);
+        when(project.getId()).thenReturn(10L);
         ProjectDto projectDto = ProjectDto.builder().id(10L).title("Test Project").build();
+        ProjectTaskStats stats = mock(ProjectTaskStats.class);
+        when(stats.getProjectId()).thenReturn(10L);
 
         when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(projectRepository.findByUserId(user.getId())).thenReturn(List.of(project));
-        when(mapper.toProjectDto(project)).thenReturn(projectDto);
+        when(projectRepository.findTaskStatsByUserId(user.getId())).thenReturn(List.of(stats));
+        when(projectRepository.findSummariesByUserId(user.getId(), true)).thenReturn(List.of(project));
+        when(mapper.toProjectSummaryDto(project, stats)).thenReturn(projectDto);
 
         // 2. Act
-        List<ProjectDto> result = projectService.getProjectsByUser(email);
+        List<ProjectDto> result = projectService.getProjectsByUser(email, FieldSelection.PROJECT_LIST);
 
         // 3. Assert
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Project", result.get(0).getTitle());
+        // List mode must never fall back to loading the tasks collection
+        verify(mapper, never()).toProjectDto(any());
     }
 
     @Test
-    void deleteProject_ShouldDelete_WhenUserIsOwner() {
+    void getProjectById_ShouldBuildTheDetail_FromProjections() {
+        // 1. Arrange
+        String email = "salah@test.com";
+        ProjectSummary summary = mock(ProjectSummary.class);
+        List<TaskDto> tasks = List.of(
+                TaskDto.builder().id(1L).status(TaskStatus.COMPLETED).build(),
+                TaskDto.builder().id(2L).status(TaskStatus.PENDING).build());
+        ProjectDto projectDto = ProjectDto.builder().id(10L).totalTasks(2).completedTasks(1).build();
+
+        when(projectRepository.findSummaryById(10L, true)).thenReturn(Optional.of(summary));
+        when(taskRepository.findDtosByProjectId(10L, true)).thenReturn(tasks);
+        when(mapper.toProjectDto(summary, tasks)).thenReturn(projectDto);
+
+        // 2. Act
+        ProjectDto result = projectService.getProjectById(10L, email, FieldSelection.PROJECT_DETAIL);
+
+        // 3. Assert: no Project / Task entity is loaded
+        assertEquals(2, result.getTotalTasks());
+        verify(projectRepository, never()).findById(any());
+        verify(mapper, never()).toProjectDto(any());
+    }
+
+    @Test
+    void getProjectById_ShouldNotQueryTasksOrDescriptions_ThatWereNotRequested() {
+        // 1. Arrange: ?fields=title&include=stats
+        ProjectSummary summary = mock(ProjectSummary.class);
+        ProjectTaskStats stats = mock(ProjectTaskStats.class);
+        ProjectDto projectDto = ProjectDto.builder().id(10L).title("Test Project").totalTasks(3).build();
+
+        when(projectRepository.findSummaryById(10L, false)).thenReturn(Optional.of(summary));
+        when(projectRepository.findTaskStatsByProjectId(10L)).thenReturn(Optional.of(stats));
+        when(mapper.toProjectSummaryDto(summary, stats)).thenReturn(projectDto);
+
+        // 2. Act
+        ProjectDto result = projectService.getProjectById(10L, "salah@test.com",
+                FieldSelection.forProject("title", "stats"));
+
+        // 3. Assert: counters from the aggregate, no task rows, no description column
+        assertEquals(3, result.getTotalTasks());
+        verify(projectRepository, never()).findSummaryById(any(), eq(true));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void deleteProject_ShouldDeleteWithSetBasedStatements_WhenUserIsOwner() {
         // 1. Arrange
         Long projectId = 1L;
         String email = "salah@test.com";
-        User owner = User.builder().email(email).build();
-        Project project = Project.builder().id(projectId).user(owner).build();
 
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.countByProjectId(projectId)).thenReturn(3L);
 
         // 2. Act
         projectService.deleteProject(projectId, email);
 
-        // 3. Assert
-        verify(projectRepository, times(1)).delete(project);
+        // 3. Assert: two DELETE statements, the entity graph is never loaded
+        verify(taskRepository).deleteAllByProjectId(projectId);
+        verify(projectRepository).deleteRowById(projectId);
+        verify(projectRepository, never()).findById(any());
+        verify(purgeWorker, never()).purge(any());
+    }
+
+    @Test
+    void deleteProject_ShouldHandOverToPurgeWorker_WhenProjectIsHuge() {
+        // 1. Arrange
+        Long projectId = 1L;
+        String email = "salah@test.com";
+
+        when(taskRepository.countByProjectId(projectId)).thenReturn(40_000L);
+
+        // 2. Act
+        projectService.deleteProject(projectId, email);
+
+        // 3. Assert: hidden now, tasks purged in the background
+        verify(projectRepository).markDeleted(projectId);
+        verify(purgeWorker).purge(projectId);
+        verify(taskRepository, never()).deleteAllByProjectId(any());
     }
 
     @Test
@@ -77,10 +170,9 @@ class ProjectServiceImplTest {
         // 1. Arrange
         Long projectId = 1L;
         String email = "hacker@bad.com";
-        User owner = User.builder().email("owner@good.com").build(); // Different owner
-        Project project = Project.builder().id(projectId).user(owner).build();
-
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        // Different owner: the ownership check refuses before anything is loaded
+        doThrow(new AccessDeniedException("You are not authorized to delete this project"))
+                .when(ownershipService).checkProjectOwner(eq(projectId), eq(email), anyString());
 
         // 2. Act & Assert
         assertThrows(AccessDeniedException.class, () -> {
@@ -88,6 +180,44 @@ class ProjectServiceImplTest {
         });
 
         // Verify delete was NEVER called
-        verify(projectRepository, never()).delete(any());
+        verify(taskRepository, never()).deleteAllByProjectId(any());
+        verify(projectRepository, never()).deleteRowById(any());
+    }
+
+    @Test
+    void updateProject_ShouldTagTheDetail_WithTheETagOfItsGet() {
+        // 1. Arrange
+        String email = "salah@test.com";
+        Project project = Project.builder().id(10L).title("Old").version(3L).build();
+        ProjectSummary summary = mock(ProjectSummary.class);
+        List<TaskDto> tasks = List.of(TaskDto.builder().id(1L).status(TaskStatus.PENDING).build());
+        ProjectDto projectDto = ProjectDto.builder().id(10L).title("New").version(4L).build();
+        VersionStamp projectStamp = stamp(1L, 10L, 4L);
+        VersionStamp taskStamp = stamp(1L, 10L, 7L);
+
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(projectRepository.findVersionStampById(10L)).thenReturn(projectStamp);
+        when(projectTaskVersionRepository.findVersionStampByProjectId(10L)).thenReturn(taskStamp);
+        when(projectRepository.findSummaryById(10L, true)).thenReturn(Optional.of(summary));
+        when(taskRepository.findDtosByProjectId(10L, true)).thenReturn(tasks);
+        when(mapper.toProjectDto(summary, tasks)).thenReturn(projectDto);
+
+        // 2. Act
+        Versioned<ProjectDto> result = projectService.updateProject(10L, ProjectDto.builder().title("New").build(), 3L, email);
+
+        // 3. Assert: the GET's tag ("v<version>-<tasks>"), not "v<version>", so a conditional GET can 304
+        assertEquals("New", project.getTitle());
+        assertSame(projectDto, result.body());
+        assertEquals("\"v4-1.10.7\"", result.version().eTag());
+        assertEquals(projectService.getProjectVersion(10L, email).eTag(), result.version().eTag());
+    }
+
+    private static VersionStamp stamp(Long rowCount, Long idSum, Long versionSum) {
+        VersionStamp stamp = mock(VersionStamp.class);
+        lenient().when(stamp.getRowCount()).thenReturn(rowCount);
+        lenient().when(stamp.getIdSum()).thenReturn(idSum);
+        lenient().when(stamp.getVersionSum()).thenReturn(versionSum);
+        lenient().when(stamp.getLastUpdated()).thenReturn(LocalDateTime.of(2026, 1, 1, 0, 0));
+        return stamp;
     }
-}
\ No newline at end of file
+}
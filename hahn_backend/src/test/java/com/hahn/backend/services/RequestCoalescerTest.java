@@ -0,0 +1,127 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // The leader is held in its loader until every other caller has looked the key up
+    private List<Future<Object>> callConcurrently(Supplier<Object> loader, Object... arguments) throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Object> blockingLoader = () -> {
+            leaderStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.get();
+        };
+
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute("project.detail", blockingLoader, arguments)));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute("project.detail", blockingLoader, arguments)));
+        }
+        while (followers() < CALLERS - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        return results;
+    }
+
+    private double followers() {
+        return meterRegistry.counter("request.coalescing", "operation", "project.detail", "role", "follower").count();
+    }
+
+    @Test
+    void execute_ShouldRunTheLoaderOnce_ForConcurrentIdenticalCalls() throws Exception {
+        // 1. Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Object project = new Object();
+
+        // 2. Act
+        List<Future<Object>> results = callConcurrently(() -> {
+            loads.incrementAndGet();
+            return project;
+        }, "salah@test.com", 1L, "\"v3\"");
+
+        // 3. Assert
+        for (Future<Object> result : results) {
+            assertSame(project, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.counter("request.coalescing",
+                "operation", "project.detail", "role", "leader").count());
+        assertEquals(CALLERS - 1, followers());
+    }
+
+    @Test
+    void execute_ShouldGiveTheLeadersExceptionToEveryCaller() throws Exception {
+        // 1. Arrange
+        Supplier<Object> notFound = () -> {
+            throw new ResourceNotFoundException("Project not found");
+        };
+
+        // 2. Act
+        List<Future<Object>> results = callConcurrently(notFound, "salah@test.com", 404L, "\"v1\"");
+
+        // 3. Assert
+        for (Future<Object> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void execute_ShouldNotShareCalls_WithDifferentKeysOrOnceCompleted() {
+        // 1. Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Integer> loader = loads::incrementAndGet;
+
+        // 2. Act
+        int first = coalescer.execute("tasks.page", loader, "salah@test.com", 1L, null, "\"v1\"");
+        int again = coalescer.execute("tasks.page", loader, "salah@test.com", 1L, null, "\"v1\"");
+        int otherUser = coalescer.execute("tasks.page", loader, "other@test.com", 1L, null, "\"v1\"");
+
+        // 3. Assert: nothing is cached once the call is done
+        assertEquals(1, first);
+        assertEquals(2, again);
+        assertEquals(3, otherUser);
+    }
+}
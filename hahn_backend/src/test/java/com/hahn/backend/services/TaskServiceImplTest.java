@@ -1,23 +1,54 @@
 package com.hahn.backend.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.config.PrimaryReads;
+import com.hahn.backend.dto.event.ProjectEvent;
+import com.hahn.backend.dto.response.CursorPage;
+import com.hahn.backend.dto.response.TaskChanges;
 import com.hahn.backend.dto.response.TaskDto;
 import com.hahn.backend.entities.Project;
 import com.hahn.backend.entities.Task;
+import com.hahn.backend.entities.TaskStatus;
 import com.hahn.backend.entities.User;
 import com.hahn.backend.exceptions.AccessDeniedException;
+import com.hahn.backend.exceptions.BadRequestException;
+import com.hahn.backend.exceptions.PreconditionFailedException;
 import com.hahn.backend.repositories.ProjectRepository;
+import com.hahn.backend.repositories.ProjectTaskVersionRepository;
+import com.hahn.backend.repositories.TaskDeletionRepository;
 import com.hahn.backend.repositories.TaskRepository;
 import com.hahn.backend.util.EntityMapper;
+import com.hahn.backend.util.FieldSelection;
+import com.hahn.backend.util.SyncToken;
+import com.hahn.backend.util.TaskCursor;
+import com.hahn.backend.util.TaskExportFormat;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class) // Enables Mockito
@@ -28,7 +59,21 @@ class TaskServiceImplTest {
     @Mock
     private ProjectRepository projectRepository;
     @Mock
+    private TaskDeletionRepository taskDeletionRepository;
+    @Mock
     private EntityMapper mapper;
+    @Mock
+    private OwnershipService ownershipService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ProjectListCache projectListCache;
+    @Mock
+    private ProjectTaskVersionRepository projectTaskVersionRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @InjectMocks
     private TaskServiceImpl taskService; // Injects the mocks above into this service
@@ -51,7 +96,7 @@ class TaskServiceImplTest {
         TaskDto expectedResponse = TaskDto.builder().id(100L).title("New Task").build();
 
         // Mock repository behavior
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.getReferenceById(projectId)).thenReturn(project);
         when(taskRepository.save(any(Task.class))).thenReturn(savedTask); // Use saveAndFlush if you changed it
         when(mapper.toTaskDto(savedTask)).thenReturn(expectedResponse);
 
@@ -62,19 +107,18 @@ class TaskServiceImplTest {
         assertNotNull(result);
         assertEquals(100L, result.getId());
         verify(taskRepository).save(any(Task.class)); // Verify DB was called
+        // the project's ETags change with its tasks
+        verify(projectTaskVersionRepository).touch(eq(List.of(projectId)), any(LocalDateTime.class));
     }
 
     @Test
     void createTask_ShouldThrowException_WhenUserIsNotOwner() {
         // 1. Arrange
-        String ownerEmail = "salah@test.com";
         String hackerEmail = "hacker@bad.com"; // Different user!
         Long projectId = 1L;
 
-        User owner = User.builder().email(ownerEmail).build();
-        Project project = Project.builder().id(projectId).user(owner).build();
-
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        doThrow(new AccessDeniedException("You are not authorized to add tasks to this project"))
+                .when(ownershipService).checkProjectOwner(eq(projectId), eq(hackerEmail), anyString());
 
         // 2. Act & Assert
         assertThrows(AccessDeniedException.class, () -> {
@@ -84,4 +128,207 @@ class TaskServiceImplTest {
         // Verify we NEVER saved anything to DB
         verify(taskRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTasksByProjectAfterCursor_ShouldContinueFromLastRow() {
+        // 1. Arrange
+        String userEmail = "salah@test.com";
+        Long projectId = 1L;
+        TaskDto first = TaskDto.builder().id(7L).dueDate(LocalDate.of(2025, 1, 2)).build();
+        TaskDto last = TaskDto.builder().id(3L).dueDate(LocalDate.of(2025, 1, 1)).build();
+
+        when(taskRepository.findFirstKeysetPage(eq(projectId), any(), any(), any(), eq(true)))
+                .thenReturn(new SliceImpl<>(List.of(first, last), PageRequest.of(0, 2), true));
+
+        // 2. Act
+        CursorPage<TaskDto> result = taskService.getTasksByProjectAfterCursor(projectId, null, null, null, 2, FieldSelection.ALL_TASK_FIELDS, userEmail);
+
+        // 3. Assert: the cursor points to the last row, and is used as-is for the next call
+        assertTrue(result.isHasNext());
+        TaskCursor next = TaskCursor.decode(result.getNextCursor());
+        assertEquals(LocalDate.of(2025, 1, 1), next.dueDate());
+        assertEquals(3L, next.id());
+        verify(taskRepository, never()).findByProjectIdAndFilters(any(), any(), any(), any(), anyBoolean()); // no OFFSET/COUNT query
+    }
+
+    @Test
+    void getTasksByProjectAfterCursor_ShouldRejectGarbageCursor() {
+        assertThrows(BadRequestException.class, () ->
+                taskService.getTasksByProjectAfterCursor(1L, null, null, "not-a-cursor", 5, FieldSelection.ALL_TASK_FIELDS, "salah@test.com"));
+    }
+
+    @Test
+    void getTasksByProjectWithFilters_ShouldUseFullTextIndex_ForSearch() {
+        // 1. Arrange
+        ReflectionTestUtils.setField(taskService, "fullTextEnabled", true);
+        when(taskRepository.searchByProjectId(eq(1L), eq("+login*"), eq("PENDING"), any(), eq(true)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        // 2. Act
+        taskService.getTasksByProjectWithFilters(1L, "login", TaskStatus.PENDING, 0, 5, FieldSelection.ALL_TASK_FIELDS, "salah@test.com");
+
+        // 3. Assert: no LIKE '%...%' scan
+        verify(taskRepository, never()).findByProjectIdAndFilters(any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void exportTasks_ShouldStreamCsv_FromDtoRows() throws Exception {
+        // 1. Arrange
+        TaskDto dto = TaskDto.builder().id(1L).title("Fix \"login\", again").status(TaskStatus.PENDING).projectId(9L).build();
+        when(taskRepository.streamByProjectId(9L)).thenReturn(Stream.of(dto));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // 2. Act
+        taskService.exportTasks(9L, TaskExportFormat.CSV, out);
+
+        // 3. Assert
+        assertEquals("id,title,description,dueDate,status,projectId\n" +
+                "1,\"Fix \"\"login\"\", again\",,,PENDING,9\n", out.toString(StandardCharsets.UTF_8));
+        // the rows are DTOs from the query: no entity, nothing to map or detach
+        verifyNoInteractions(mapper, entityManager);
+        // checked once, by TaskController
+        verifyNoInteractions(ownershipService);
+    }
+
+    @Test
+    void createTasks_ShouldCheckOwnershipOnce_ForTheWholeBatch() {
+        // 1. Arrange
+        String userEmail = "salah@test.com";
+        Project project = Project.builder().id(1L).build();
+        List<TaskDto> requests = List.of(
+                TaskDto.builder().title("A").build(),
+                TaskDto.builder().title("B").status(TaskStatus.COMPLETED).build());
+
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+        AtomicLong ids = new AtomicLong();
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            task.setId(ids.incrementAndGet()); // what the sequence would do
+            return task;
+        });
+        when(mapper.toTaskDto(any(Task.class))).thenReturn(new TaskDto());
+
+        // 2. Act
+        List<TaskDto> result = taskService.createTasks(1L, requests, userEmail);
+
+        // 3. Assert
+        assertEquals(2, result.size());
+        verify(ownershipService, times(1)).checkProjectOwner(eq(1L), eq(userEmail), anyString());
+        verify(taskRepository, times(2)).save(any(Task.class));
+        // one SSE event for the whole batch
+        verify(eventPublisher, times(1)).publishEvent(any(ProjectEvent.class));
+    }
+
+    @Test
+    void updateTasks_ShouldRejectItemsWithoutId() {
+        List<TaskDto> requests = List.of(TaskDto.builder().status(TaskStatus.COMPLETED).build());
+
+        assertThrows(BadRequestException.class, () -> taskService.updateTasks(requests, "salah@test.com"));
+        verify(ownershipService, never()).checkTasksOwner(any(), any(), any());
+    }
+
+    @Test
+    void updateTasks_ShouldReturnTheVersionsWrittenByTheFlush() {
+        // 1. Arrange: the flush writes the UPDATE and bumps @Version 3 -> 4
+        Task task = Task.builder().id(7L).title("Old").status(TaskStatus.PENDING).version(3L)
+                .project(Project.builder().id(1L).build()).build();
+        when(taskRepository.findAllWithDescriptionByIdIn(List.of(7L))).thenReturn(List.of(task));
+        doAnswer(invocation -> {
+            task.setVersion(task.getVersion() + 1);
+            return null;
+        }).when(entityManager).flush();
+        when(mapper.toTaskDto(task)).thenAnswer(invocation -> TaskDto.builder().id(7L).version(task.getVersion()).build());
+
+        // 2. Act
+        List<TaskDto> updated = taskService.updateTasks(List.of(TaskDto.builder().id(7L).title("New").build()), "salah@test.com");
+
+        // 3. Assert: the client's next If-Match must be the new version
+        assertEquals(4L, updated.get(0).getVersion());
+        assertEquals("New", task.getTitle());
+    }
+
+    @Test
+    void updateTask_ShouldThrowPreconditionFailed_WhenIfMatchIsStale() {
+        // 1. Arrange: the client saw version 2, someone else already saved version 3
+        Task task = Task.builder().id(7L).title("Old").status(TaskStatus.PENDING).version(3L).build();
+        when(taskRepository.findById(7L)).thenReturn(Optional.of(task));
+
+        // 2. Act & 3. Assert
+        assertThrows(PreconditionFailedException.class, () ->
+                taskService.updateTask(7L, TaskDto.builder().title("New").build(), 2L, "salah@test.com"));
+        assertEquals("Old", task.getTitle());
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateTask_ShouldEvictTheProjectList_OnlyWhenTheCompletedCountChanges() {
+        // 1. Arrange
+        Task task = Task.builder().id(7L).title("Old").status(TaskStatus.PENDING).version(3L).build();
+        when(taskRepository.findById(7L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+        // 2. Act: a rename and PENDING -> IN_PROGRESS leave the counters as they are
+        taskService.updateTask(7L, TaskDto.builder().title("New").status(TaskStatus.IN_PROGRESS).build(), null, "salah@test.com");
+        verify(projectListCache, never()).evict(any());
+        taskService.updateTask(7L, TaskDto.builder().status(TaskStatus.COMPLETED).build(), null, "salah@test.com");
+
+        // 3. Assert
+        verify(projectListCache).evict("salah@test.com");
+    }
+
+    @Test
+    void getTaskChanges_ShouldReturnTombstonesAndContinueAfterLastRow() {
+        // 1. Arrange: client synced up to "since", 2 changes are waiting but the page holds 1
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        Task changed = Task.builder().id(5L).title("Changed").status(TaskStatus.PENDING)
+                .updatedAt(since.plusMinutes(10)).build();
+
+        when(taskRepository.findChangedSince(eq(1L), eq(since), eq(3L), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(changed), PageRequest.of(0, 1), true));
+        when(taskDeletionRepository.findDeletedTaskIds(1L, since, changed.getUpdatedAt())).thenReturn(List.of(4L));
+        when(mapper.toTaskDto(changed)).thenReturn(TaskDto.builder().id(5L).build());
+
+        // 2. Act
+        TaskChanges changes = taskService.getTaskChanges(1L, new SyncToken(since, 3L).encode(), 1, "salah@test.com");
+
+        // 3. Assert
+        assertEquals(1, changes.getChanged().size());
+        assertEquals(List.of(4L), changes.getDeleted());
+        assertTrue(changes.isHasMore());
+        assertEquals(SyncToken.of(changed), SyncToken.decode(changes.getNextToken()));
+    }
+
+    @Test
+    void getTaskChanges_ShouldReadFromThePrimary() {
+        // 1. Arrange: a replica behind the settle delay would make the token skip rows for good
+        AtomicBoolean pinned = new AtomicBoolean();
+        doAnswer(invocation -> {
+            pinned.set(PrimaryReads.isPinned());
+            return null;
+        }).when(ownershipService).checkProjectOwner(eq(1L), eq("salah@test.com"), anyString());
+        when(taskRepository.findChangedSince(eq(1L), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    pinned.compareAndSet(true, PrimaryReads.isPinned());
+                    return new SliceImpl<>(List.of());
+                });
+
+        // 2. Act
+        taskService.getTaskChanges(1L, null, 10, "salah@test.com");
+
+        // 3. Assert: from the first statement of the transaction
+        assertTrue(pinned.get());
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    void deleteTasks_ShouldLogTombstonesBeforeDeleting() {
+        List<Long> ids = List.of(1L, 2L);
+
+        taskService.deleteTasks(ids, "salah@test.com");
+
+        // Tombstones must be written while the rows still exist (INSERT ... SELECT)
+        var inOrder = inOrder(taskDeletionRepository, taskRepository);
+        inOrder.verify(taskDeletionRepository).logDeletions(eq(ids), any(LocalDateTime.class));
+        inOrder.verify(taskRepository).deleteAllByIdInBatch(ids);
+    }
+}
@@ -0,0 +1,127 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.dto.projection.RevokedToken;
+import com.hahn.backend.entities.TokenRevocation;
+import com.hahn.backend.repositories.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final String EMAIL = "salah@test.com";
+
+    @Mock
+    private TokenRevocationRepository revocationRepository;
+
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = new TokenRevocationService(revocationRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(revocationService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(revocationService, "expectedRevocations", 1_000L);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+    }
+
+    private static JwtService.VerifiedToken token(String id, long issuedAtMillis) {
+        return new JwtService.VerifiedToken(EMAIL, new Date(issuedAtMillis + 86_400_000L), id, new Date(issuedAtMillis));
+    }
+
+    private static RevokedToken row(String jti, String subject, LocalDateTime revokedAt) {
+        RevokedToken row = mock(RevokedToken.class);
+        lenient().when(row.getJti()).thenReturn(jti);
+        lenient().when(row.getSubject()).thenReturn(subject);
+        lenient().when(row.getRevokedAt()).thenReturn(revokedAt);
+        return row;
+    }
+
+    @Test
+    void revoke_ShouldRejectThatToken_WithoutRejectingTheOthers() {
+        // 1. Arrange
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+        long now = System.currentTimeMillis();
+
+        // 2. Act
+        revocationService.revoke(token("logged-out", now));
+
+        // 3. Assert
+        assertTrue(revocationService.isRevoked(token("logged-out", now)));
+        assertFalse(revocationService.isRevoked(token("still-valid", now)));
+        verify(revocationRepository).save(any(TokenRevocation.class));
+        verify(revocationRepository, never()).existsByJti(any()); // no DB round trip for either check
+    }
+
+    @Test
+    void revokeAll_ShouldRejectTokensIssuedBefore_ButNotTheNextLogin() {
+        // 1. Arrange
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+        long before = System.currentTimeMillis() - 60_000;
+
+        // 2. Act
+        revocationService.revokeAll(EMAIL);
+
+        // 3. Assert
+        assertTrue(revocationService.isRevoked(token("old", before)));
+        assertFalse(revocationService.isRevoked(token("new", System.currentTimeMillis() + 2_000)));
+    }
+
+    @Test
+    void revokeAll_ShouldNotRevokeALogin_InTheSameSecond() {
+        // 1. Arrange
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+        RevokedToken revokedAll = row(null, EMAIL, LocalDateTime.of(2026, 1, 1, 10, 0, 0, 300_000_000));
+        when(revocationRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(revokedAll));
+        long revokedAt = revokedAll.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // 2. Act
+        revocationService.syncNewRevocations();
+
+        // 3. Assert: same second, before / after the "revoke all"
+        assertTrue(revocationService.isRevoked(token("before", revokedAt - 100)));
+        assertFalse(revocationService.isRevoked(token("after", revokedAt + 100)));
+    }
+
+    @Test
+    void init_ShouldReloadThePersistedRevocations() {
+        // 1. Arrange
+        RevokedToken loggedOut = row("persisted", null, LocalDateTime.now().minusHours(1));
+        when(revocationRepository.findActive(any())).thenReturn(List.of(loggedOut));
+        when(revocationRepository.existsByJti("persisted")).thenReturn(true);
+
+        // 2. Act
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+
+        // 3. Assert
+        assertTrue(revocationService.isRevoked(token("persisted", System.currentTimeMillis())));
+    }
+
+    @Test
+    void syncNewRevocations_ShouldPickUpTheRevocationsOfOtherInstances() {
+        // 1. Arrange
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+        long before = System.currentTimeMillis() - 60_000;
+        RevokedToken elsewhere = row(null, EMAIL, LocalDateTime.now());
+        when(revocationRepository.findActiveRevokedSince(any(), any())).thenReturn(List.of(elsewhere));
+
+        // 2. Act
+        revocationService.syncNewRevocations();
+
+        // 3. Assert
+        assertTrue(revocationService.isRevoked(token("old", before)));
+    }
+}
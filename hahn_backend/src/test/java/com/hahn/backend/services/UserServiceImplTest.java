@@ -0,0 +1,96 @@
+package com.hahn.backend.services;
+
+import com.hahn.backend.config.AuthenticatedUser;
+import com.hahn.backend.config.UserPrincipalCache;
+import com.hahn.backend.dto.response.UserDto;
+import com.hahn.backend.entities.User;
+import com.hahn.backend.exceptions.AccessDeniedException;
+import com.hahn.backend.repositories.UserRepository;
+import com.hahn.backend.util.EntityMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EntityMapper mapper;
+    @Mock
+    private UserPrincipalCache principalCache;
+    @Mock
+    private TokenRevocationService revocationService;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    private final User user = User.builder().id(1L).email("salah@test.com").username("salah").build();
+
+    @BeforeEach
+    void setUp() {
+        // as JwtAuthenticationFilter sets it
+        AuthenticatedUser principal = AuthenticatedUser.of(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCurrentUser_ShouldLoadTheUser_OfThePrincipal() {
+        // 1. Arrange
+        UserDto userDto = UserDto.builder().id(1L).email("salah@test.com").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(mapper.toUserDto(user)).thenReturn(userDto);
+
+        // 2. Act
+        UserDto result = userService.getCurrentUser();
+
+        // 3. Assert
+        assertEquals(userDto, result);
+    }
+
+    @Test
+    void updateUser_ShouldEvictTheCachedPrincipal() {
+        // 1. Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        // 2. Act
+        userService.updateUser(1L, UserDto.builder().username("salah2").build());
+
+        // 3. Assert
+        assertEquals("salah2", user.getUsername());
+        verify(principalCache).evict("salah@test.com");
+    }
+
+    @Test
+    void updateUser_ShouldThrowAccessDenied_WhenUpdatingAnotherUser() {
+        // 1. Arrange
+        User other = User.builder().id(2L).email("other@test.com").build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(other));
+
+        // 2. Act + 3. Assert
+        assertThrows(AccessDeniedException.class,
+                () -> userService.updateUser(2L, UserDto.builder().username("hacked").build()));
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(principalCache);
+    }
+}
@@ -0,0 +1,48 @@
+package com.hahn.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldFindEveryAddedValue() {
+        // 1. Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            added.add(UUID.randomUUID().toString());
+        }
+
+        // 2. Act
+        added.forEach(filter::add);
+
+        // 3. Assert
+        assertTrue(added.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositivesNearTheConfiguredRate() {
+        // 1. Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        // 2. Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // 3. Assert: ~1% expected, 1_000 of 100_000
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+    }
+}
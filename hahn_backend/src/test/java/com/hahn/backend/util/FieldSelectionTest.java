@@ -0,0 +1,68 @@
+package com.hahn.backend.util;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hahn.backend.dto.response.ProjectDto;
+import com.hahn.backend.dto.response.TaskDto;
+import com.hahn.backend.entities.TaskStatus;
+import com.hahn.backend.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    // same as JacksonConfig
+    @JsonFilter(FieldSelection.FILTER_ID)
+    interface FieldSelectionMixIn {
+    }
+
+    @Test
+    void forProject_ShouldSplitProjectAndTaskFields_AndAlwaysKeepTheId() {
+        FieldSelection selection = FieldSelection.forProject("title, tasks.title,tasks.status", "tasks");
+
+        assertEquals(Set.of("id", "title"), selection.projectFields());
+        assertEquals(Set.of("id", "title", "status"), selection.taskFields());
+        assertTrue(selection.includesTasks());
+        assertFalse(selection.includesStats());
+        assertFalse(selection.hasTaskField(FieldSelection.DESCRIPTION));
+    }
+
+    @Test
+    void noParameters_ShouldSelectTheDefaultResponses() {
+        assertEquals(FieldSelection.PROJECT_LIST, FieldSelection.forProjectList(null, null));
+        assertEquals(FieldSelection.PROJECT_DETAIL, FieldSelection.forProject(null, null));
+        assertEquals(FieldSelection.ALL_TASK_FIELDS, FieldSelection.forTasks(null));
+        // include= (empty): neither tasks nor stats
+        assertFalse(FieldSelection.forProject(null, "").includesStats());
+    }
+
+    @Test
+    void unknownFieldsAndIncludes_ShouldBeRejected() {
+        assertThrows(BadRequestException.class, () -> FieldSelection.forTasks("title,secret"));
+        assertThrows(BadRequestException.class, () -> FieldSelection.forTasks("tasks.title"));
+        assertThrows(BadRequestException.class, () -> FieldSelection.forProjectList(null, "tasks"));
+    }
+
+    @Test
+    void apply_ShouldOnlyWriteTheSelectedProperties() throws Exception {
+        // 1. Arrange
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .addMixIn(ProjectDto.class, FieldSelectionMixIn.class)
+                .addMixIn(TaskDto.class, FieldSelectionMixIn.class);
+        ProjectDto project = ProjectDto.builder().id(1L).title("P").description("long text").totalTasks(1)
+                .tasks(List.of(TaskDto.builder().id(2L).title("T").description("long text").status(TaskStatus.PENDING).build()))
+                .build();
+        MappingJacksonValue value = FieldSelection.forProject("title,tasks.title", "tasks").apply(project);
+
+        // 2. Act
+        String json = objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue());
+
+        // 3. Assert
+        assertEquals("{\"id\":1,\"title\":\"P\",\"tasks\":[{\"id\":2,\"title\":\"T\"}]}", json);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hahn.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullTextSearchTest {
+
+    @Test
+    void toBooleanModeQuery_ShouldRequireEveryWordAsPrefix() {
+        assertEquals("+api* +bug*", FullTextSearch.toBooleanModeQuery("  api   bug "));
+    }
+
+    @Test
+    void toBooleanModeQuery_ShouldStripBooleanOperators() {
+        assertEquals("+login* +page*", FullTextSearch.toBooleanModeQuery("-login* (page)"));
+    }
+
+    @Test
+    void toBooleanModeQuery_ShouldReturnNull_WhenIndexCannotAnswer() {
+        assertNull(FullTextSearch.toBooleanModeQuery(null));
+        assertNull(FullTextSearch.toBooleanModeQuery("   "));
+        assertNull(FullTextSearch.toBooleanModeQuery("fix ui")); // "ui" is below the FULLTEXT token size
+        assertNull(FullTextSearch.toBooleanModeQuery("The login")); // "the" is an InnoDB stopword, never indexed
+    }
+}
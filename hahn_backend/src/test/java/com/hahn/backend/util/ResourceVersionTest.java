@@ -0,0 +1,47 @@
+package com.hahn.backend.util;
+
+import com.hahn.backend.dto.projection.VersionStamp;
+import com.hahn.backend.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceVersionTest {
+
+    @Test
+    void ofEntity_ShouldChange_WhenATaskIsReplaced() {
+        VersionStamp project = stamp(1, 10, 4, null);
+
+        // task 5 deleted, task 6 created: same count, same versions, different ids
+        String before = ResourceVersion.ofEntity(project, stamp(2, 3 + 5, 0, null)).eTag();
+        String after = ResourceVersion.ofEntity(project, stamp(2, 3 + 6, 0, null)).eTag();
+
+        assertEquals("\"v4-2.8.0\"", before);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void expectedVersion_ShouldReadTheEntityVersion_FromAnEntityTag() {
+        assertEquals(4L, ResourceVersion.expectedVersion("\"v4-2.8.0\""));
+        assertEquals(7L, ResourceVersion.expectedVersion("\"v7\""));
+        assertNull(ResourceVersion.expectedVersion(null));
+        assertNull(ResourceVersion.expectedVersion("*"));
+    }
+
+    @Test
+    void expectedVersion_ShouldFail_ForWeakOrForeignTags() {
+        assertThrows(PreconditionFailedException.class, () -> ResourceVersion.expectedVersion("W/\"v4\""));
+        assertThrows(PreconditionFailedException.class, () -> ResourceVersion.expectedVersion("\"2.8.0\""));
+    }
+
+    private static VersionStamp stamp(long rowCount, long idSum, long versionSum, LocalDateTime lastUpdated) {
+        return new VersionStamp() {
+            public Long getRowCount() { return rowCount; }
+            public Long getIdSum() { return idSum; }
+            public Long getVersionSum() { return versionSum; }
+            public LocalDateTime getLastUpdated() { return lastUpdated; }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.hahn.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @Test
+    void tryAcquire_ShouldAllowABurstOfCapacity_ThenReject() {
+        // 1. Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(10), 100, clock::get);
+
+        // 2. Act & 3. Assert
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), limiter.tryAcquire("1.2.3.4"));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOneToken_PerInterval() {
+        // 1. Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(10), 100, clock::get);
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+
+        // 2. Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        long stillEmpty = limiter.tryAcquire("key");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        long refilled = limiter.tryAcquire("key");
+
+        // 3. Assert
+        assertEquals(TimeUnit.SECONDS.toNanos(6), stillEmpty);
+        assertEquals(0, refilled);
+        assertTrue(limiter.tryAcquire("key") > 0); // only one token came back
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepOneBucketPerKey() {
+        // 1. Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMinutes(1), 100, clock::get);
+        limiter.tryAcquire("a@test.com");
+
+        // 2. Act & 3. Assert
+        assertTrue(limiter.tryAcquire("a@test.com") > 0);
+        assertEquals(0, limiter.tryAcquire("b@test.com"));
+    }
+}